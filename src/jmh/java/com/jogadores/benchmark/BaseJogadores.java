@@ -0,0 +1,90 @@
+package com.jogadores.benchmark;
+
+import com.jogadores.JogadoresApplication;
+import com.jogadores.model.TextoBusca;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+@State(Scope.Benchmark)
+public class BaseJogadores {
+
+    private static final int TAMANHO_LOTE = 5_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int linhas;
+
+    public ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> argumentos = new ArrayList<>(Arrays.asList(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + linhas + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--logging.level.root=WARN"));
+        configurar(argumentos);
+        context = new SpringApplicationBuilder(JogadoresApplication.class)
+                .run(argumentos.toArray(new String[0]));
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> popular(jdbcTemplate));
+    }
+
+    protected void configurar(List<String> argumentos) {
+        argumentos.add("--spring.jpa.show-sql=false");
+        argumentos.add("--spring.jpa.properties.hibernate.format_sql=false");
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return context.getBean(tipo);
+    }
+
+    public long idAleatorio() {
+        return ThreadLocalRandom.current().nextLong(1, linhas + 1);
+    }
+
+    private void popular(JdbcTemplate jdbcTemplate) {
+        String sql = "insert into jogador (id, nome, email, telefone, codinome, grupo, versao, nome_normalizado, email_normalizado,"
+                + " telefone_normalizado, codinome_normalizado, grupo_normalizado) values (?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?)";
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 1; i <= linhas; i++) {
+            String nome = "Jogador " + i;
+            String email = "jogador" + i + "@email.com";
+            String telefone = "(11) 9" + String.format("%04d-%04d", i / 10_000, i % 10_000);
+            String codinome = "Codinome " + i;
+            String grupo = i % 2 == 0 ? "Vingadores" : "Liga da Justiça";
+            lote.add(new Object[]{(long) i, nome, email, telefone, codinome, grupo,
+                    TextoBusca.normalizar(nome), TextoBusca.normalizar(email), TextoBusca.normalizar(telefone),
+                    TextoBusca.normalizar(codinome), TextoBusca.normalizar(grupo)});
+            if (lote.size() == TAMANHO_LOTE) {
+                jdbcTemplate.batchUpdate(sql, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, lote);
+        }
+        jdbcTemplate.execute("alter sequence jogador_seq restart with " + (linhas + 1_000));
+    }
+}
@@ -0,0 +1,22 @@
+package com.jogadores.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class BasePerfis extends BaseJogadores {
+
+    @Param({"padrao", "prod"})
+    public String perfil;
+
+    @Override
+    protected void configurar(List<String> argumentos) {
+        if ("prod".equals(perfil)) {
+            argumentos.add("--spring.profiles.active=prod");
+            argumentos.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+        }
+    }
+}
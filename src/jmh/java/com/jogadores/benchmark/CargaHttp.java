@@ -0,0 +1,79 @@
+package com.jogadores.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CargaHttp {
+
+    private static final int MAXIMO_AMOSTRAS_POR_CLIENTE = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080/api/jogadores?nome=jogador&size=20";
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(clientes))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(url)).GET().build();
+
+        long[][] latencias = new long[clientes][];
+        int[] amostras = new int[clientes];
+        AtomicLong erros = new AtomicLong();
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+
+        ExecutorService executor = Executors.newFixedThreadPool(clientes);
+        for (int c = 0; c < clientes; c++) {
+            int cliente = c;
+            latencias[cliente] = new long[MAXIMO_AMOSTRAS_POR_CLIENTE];
+            executor.execute(() -> {
+                while (System.nanoTime() < fim && amostras[cliente] < MAXIMO_AMOSTRAS_POR_CLIENTE) {
+                    long inicio = System.nanoTime();
+                    try {
+                        HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                        if (resposta.statusCode() >= 400) {
+                            erros.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        erros.incrementAndGet();
+                    }
+                    latencias[cliente][amostras[cliente]++] = System.nanoTime() - inicio;
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(segundos + 60L, TimeUnit.SECONDS);
+
+        int total = Arrays.stream(amostras).sum();
+        long[] todas = new long[total];
+        int posicao = 0;
+        for (int c = 0; c < clientes; c++) {
+            System.arraycopy(latencias[c], 0, todas, posicao, amostras[c]);
+            posicao += amostras[c];
+        }
+        Arrays.sort(todas);
+
+        System.out.printf("url=%s clientes=%d duracao=%ds%n", url, clientes, segundos);
+        System.out.printf("requisicoes=%d erros=%d throughput=%.1f req/s%n", total, erros.get(), (double) total / segundos);
+        System.out.printf("p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                percentil(todas, 0.50), percentil(todas, 0.99), percentil(todas, 0.999), percentil(todas, 1.0));
+        System.exit(0);
+    }
+
+    private static double percentil(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(percentil * ordenadas.length) - 1);
+        return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.jogadores.benchmark;
+
+import com.jogadores.exceptions.BusinessException;
+import com.jogadores.model.Jogador;
+import com.jogadores.model.TipoBusca;
+import com.jogadores.service.JogadorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JogadorServiceBenchmark {
+
+    private static final AtomicLong SEQUENCIA = new AtomicLong();
+    private static final List<String> CAMPOS_RESUMO = Arrays.asList("id", "nome", "codinome");
+
+    @Benchmark
+    public Jogador save(BaseJogadores base) {
+        long n = SEQUENCIA.incrementAndGet();
+        return base.bean(JogadorService.class).save(Jogador.builder()
+                .nome("Novo " + n)
+                .email("novo" + n + "@email.com")
+                .telefone("(11) 99999-9999")
+                .codinome("Novo codinome " + n)
+                .grupo("Vingadores")
+                .build());
+    }
+
+    @Benchmark
+    public Object saveCodinomeDuplicado(BaseJogadores base) {
+        try {
+            return base.bean(JogadorService.class).save(Jogador.builder()
+                    .nome("Duplicado")
+                    .email("duplicado@email.com")
+                    .telefone("(11) 99999-9999")
+                    .codinome("Codinome " + base.idAleatorio())
+                    .grupo("Vingadores")
+                    .build());
+        } catch (BusinessException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Optional<Jogador> getById(BaseJogadores base) {
+        return base.bean(JogadorService.class).getById(base.idAleatorio());
+    }
+
+    @Benchmark
+    public Page<Jogador> findJogador(BaseJogadores base) {
+        Jogador filtro = Jogador.builder().nome("jogador " + base.idAleatorio() / 10).build();
+        return base.bean(JogadorService.class).findJogador(filtro, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<Jogador> findJogadorPrefixo(BaseJogadores base) {
+        Jogador filtro = Jogador.builder().nome("jogador " + base.idAleatorio() / 10).build();
+        return base.bean(JogadorService.class).findJogador(filtro, TipoBusca.PREFIXO, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<Map<String, Object>> findCampos(BaseJogadores base) {
+        Jogador filtro = Jogador.builder().nome("jogador " + base.idAleatorio() / 10).build();
+        return base.bean(JogadorService.class).findCampos(filtro, TipoBusca.PREFIXO, CAMPOS_RESUMO, PageRequest.of(0, 20));
+    }
+}
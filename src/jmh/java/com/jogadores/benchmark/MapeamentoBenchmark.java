@@ -0,0 +1,89 @@
+package com.jogadores.benchmark;
+
+import com.jogadores.controller.dto.JogadorDTO;
+import com.jogadores.controller.mapper.JogadorMapper;
+import com.jogadores.model.Jogador;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    private ModelMapper modelMapper;
+    private JogadorMapper jogadorMapper;
+    private Jogador jogador;
+    private JogadorDTO dto;
+    private List<Jogador> pagina;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        jogadorMapper = new JogadorMapper();
+        jogador = Jogador.builder()
+                .id(1L)
+                .nome("Felipe")
+                .email("felipe@email.com")
+                .telefone("(11) 99999-9999")
+                .codinome("Hulk")
+                .grupo("Vingadores")
+                .build();
+        dto = modelMapper.map(jogador, JogadorDTO.class);
+        pagina = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            Jogador item = modelMapper.map(jogador, Jogador.class);
+            item.setId(i);
+            pagina.add(item);
+        }
+    }
+
+    @Benchmark
+    public JogadorDTO modelMapperParaDTO() {
+        return modelMapper.map(jogador, JogadorDTO.class);
+    }
+
+    @Benchmark
+    public Jogador modelMapperParaEntidade() {
+        return modelMapper.map(dto, Jogador.class);
+    }
+
+    @Benchmark
+    public List<JogadorDTO> modelMapperPagina() {
+        return pagina.stream()
+                .map(entity -> modelMapper.map(entity, JogadorDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public JogadorDTO jogadorMapperParaDTO() {
+        return jogadorMapper.toDTO(jogador);
+    }
+
+    @Benchmark
+    public Jogador jogadorMapperParaEntidade() {
+        return jogadorMapper.toEntity(dto);
+    }
+
+    @Benchmark
+    public List<JogadorDTO> jogadorMapperPagina() {
+        return jogadorMapper.toDTOList(pagina);
+    }
+}
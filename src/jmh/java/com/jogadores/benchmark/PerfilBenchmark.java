@@ -0,0 +1,60 @@
+package com.jogadores.benchmark;
+
+import com.jogadores.model.Jogador;
+import com.jogadores.model.TipoBusca;
+import com.jogadores.service.JogadorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PerfilBenchmark {
+
+    private static final AtomicLong SEQUENCIA = new AtomicLong();
+
+    @Benchmark
+    public Jogador save(BasePerfis base) {
+        long n = SEQUENCIA.incrementAndGet();
+        return base.bean(JogadorService.class).save(novoJogador(n));
+    }
+
+    @Benchmark
+    public Object importar(BasePerfis base) {
+        List<Jogador> lote = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            lote.add(novoJogador(SEQUENCIA.incrementAndGet()));
+        }
+        return base.bean(JogadorService.class).importar(lote);
+    }
+
+    @Benchmark
+    public Page<Jogador> findJogadorPrefixo(BasePerfis base) {
+        Jogador filtro = Jogador.builder().nome("jogador " + base.idAleatorio() / 10).build();
+        return base.bean(JogadorService.class).findJogador(filtro, TipoBusca.PREFIXO, PageRequest.of(0, 20));
+    }
+
+    private Jogador novoJogador(long n) {
+        return Jogador.builder()
+                .nome("Perfil " + n)
+                .email("perfil" + n + "@email.com")
+                .telefone("(11) 99999-9999")
+                .codinome("Perfil codinome " + n)
+                .grupo("Vingadores")
+                .build();
+    }
+}
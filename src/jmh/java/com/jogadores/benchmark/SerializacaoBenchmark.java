@@ -0,0 +1,92 @@
+package com.jogadores.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.jogadores.controller.dto.JogadorDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"20", "1000"})
+    public int tamanhoPagina;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private Page<JogadorDTO> pagina;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = new ObjectMapper();
+        cbor = new ObjectMapper(new CBORFactory());
+        List<JogadorDTO> jogadores = new ArrayList<>(tamanhoPagina);
+        for (long i = 1; i <= tamanhoPagina; i++) {
+            jogadores.add(JogadorDTO.builder()
+                    .id(i)
+                    .nome("Jogador " + i)
+                    .email("jogador" + i + "@email.com")
+                    .telefone("(11) 99999-9999")
+                    .codinome("Codinome " + i)
+                    .grupo(i % 2 == 0 ? "Vingadores" : "Liga da Justiça")
+                    .versao(0L)
+                    .build());
+        }
+        pagina = new PageImpl<>(jogadores, PageRequest.of(0, tamanhoPagina), 1_000_000);
+
+        System.out.printf("%nBytes por página de %d: json=%d json+gzip=%d cbor=%d cbor+gzip=%d%n", tamanhoPagina,
+                json().length, jsonGzip().length, cbor().length, cborGzip().length);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return json.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(json.writeValueAsBytes(pagina));
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cbor.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] cborGzip() throws IOException {
+        return gzip(cbor.writeValueAsBytes(pagina));
+    }
+
+    private byte[] gzip(byte[] conteudo) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(conteudo.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(conteudo);
+        }
+        return saida.toByteArray();
+    }
+}
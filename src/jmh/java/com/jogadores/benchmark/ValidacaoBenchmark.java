@@ -0,0 +1,57 @@
+package com.jogadores.benchmark;
+
+import com.jogadores.controller.JogadorController;
+import com.jogadores.controller.dto.JogadorDTO;
+import com.jogadores.model.Jogador;
+import com.jogadores.service.JogadorService;
+import com.jogadores.service.Resultado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+// vazão de cadastros recusados pela aplicação real: codinome já cadastrado e corpo inválido
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class ValidacaoBenchmark {
+
+    @Benchmark
+    public Resultado<Jogador> cadastrarCodinomeDuplicado(BaseJogadores base) {
+        return base.bean(JogadorService.class).cadastrar(Jogador.builder()
+                .nome("Duplicado")
+                .email("duplicado@email.com")
+                .telefone("(11) 99999-9999")
+                .codinome("Codinome " + base.idAleatorio())
+                .grupo("Vingadores")
+                .build());
+    }
+
+    @Benchmark
+    public ResponseEntity<?> criarCodinomeDuplicado(BaseJogadores base) {
+        JogadorDTO dto = new JogadorDTO();
+        dto.setNome("Duplicado");
+        dto.setEmail("duplicado@email.com");
+        dto.setTelefone("(11) 99999-9999");
+        dto.setCodinome("Codinome " + base.idAleatorio());
+        dto.setGrupo("Vingadores");
+        return base.bean(JogadorController.class).create(dto);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> criarInvalido(BaseJogadores base) {
+        JogadorDTO dto = new JogadorDTO();
+        dto.setCodinome("Codinome " + base.idAleatorio());
+        return base.bean(JogadorController.class).create(dto);
+    }
+}
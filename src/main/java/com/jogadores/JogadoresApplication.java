@@ -1,6 +1,6 @@
 package com.jogadores;
 
-import org.modelmapper.ModelMapper;
+import com.jogadores.controller.mapper.JogadorMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
@@ -9,8 +9,8 @@ import org.springframework.context.annotation.Bean;
 public class JogadoresApplication {
 
 	@Bean
-	public ModelMapper modelMapper() {
-		return new ModelMapper();
+	public JogadorMapper jogadorMapper() {
+		return new JogadorMapper();
 	}
 
 	public static void main(String[] args) {
@@ -0,0 +1,33 @@
+package com.jogadores.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Bulkhead {
+
+    private final int limite;
+    private final AtomicInteger emUso = new AtomicInteger();
+
+    public Bulkhead(int limite) {
+        this.limite = limite;
+    }
+
+    public boolean entrar() {
+        while (true) {
+            int atual = emUso.get();
+            if (atual >= limite) {
+                return false;
+            }
+            if (emUso.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void sair() {
+        emUso.decrementAndGet();
+    }
+
+    public int getEmUso() {
+        return emUso.get();
+    }
+}
@@ -0,0 +1,14 @@
+package com.jogadores.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    public static final String JOGADORES = "jogadores";
+
+    // buscas exatas por codinome e email; qualquer gravação descarta todas
+    public static final String CONSULTAS = "consultas";
+}
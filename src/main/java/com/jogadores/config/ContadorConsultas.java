@@ -0,0 +1,22 @@
+package com.jogadores.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class ContadorConsultas implements StatementInspector {
+
+    private static final ThreadLocal<long[]> CONSULTAS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        CONSULTAS.get()[0]++;
+        return sql;
+    }
+
+    public static void zerar() {
+        CONSULTAS.get()[0] = 0;
+    }
+
+    public static long total() {
+        return CONSULTAS.get()[0];
+    }
+}
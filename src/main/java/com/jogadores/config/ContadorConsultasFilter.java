@@ -0,0 +1,49 @@
+package com.jogadores.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+public class ContadorConsultasFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ContadorConsultasFilter.class);
+
+    private MeterRegistry registry;
+    private long limite;
+
+    public ContadorConsultasFilter(MeterRegistry registry, long limite) {
+        this.registry = registry;
+        this.limite = limite;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContadorConsultas.zerar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long consultas = ContadorConsultas.total();
+            Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = padrao != null ? padrao.toString() : "UNKNOWN";
+            DistributionSummary.builder("jogadores.http.consultas")
+                    .description("Comandos SQL executados por requisição")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(consultas);
+            if (consultas > limite) {
+                log.warn("{} {} executou {} comandos SQL (limite {}): possível N+1", request.getMethod(), uri, consultas, limite);
+            }
+        }
+    }
+}
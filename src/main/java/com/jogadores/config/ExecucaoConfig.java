@@ -0,0 +1,38 @@
+package com.jogadores.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecucaoConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecucaoConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "jogadores.execucao.modo", havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<?> threadsVirtuais() {
+        ExecutorService executor = criarExecutorVirtual();
+        if (executor == null) {
+            log.warn("jogadores.execucao.modo=virtual exige JDK 21 ou superior (JDK atual: {}); "
+                    + "as requisições continuarão no pool de threads do Tomcat", Runtime.version());
+            return protocolHandler -> { };
+        }
+        log.info("Requisições HTTP atendidas em threads virtuais");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    private ExecutorService criarExecutorVirtual() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.jogadores.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// balde de fichas no formato GCRA: um único instante teórico de chegada atualizado por CAS
+public class LimiteTaxa {
+
+    private final long intervalo;
+    private final long tolerancia;
+    private final AtomicLong chegadaTeorica;
+
+    public LimiteTaxa(double requisicoesPorSegundo, int rajada, long agora) {
+        this.intervalo = (long) (1_000_000_000L / requisicoesPorSegundo);
+        this.tolerancia = intervalo * Math.max(0, rajada - 1);
+        this.chegadaTeorica = new AtomicLong(agora);
+    }
+
+    // devolve 0 quando a requisição é aceita ou os nanossegundos até haver uma ficha livre
+    public long consumir(long agora) {
+        while (true) {
+            long atual = chegadaTeorica.get();
+            long inicio = Math.max(atual, agora);
+            long espera = inicio - agora - tolerancia;
+            if (espera > 0) {
+                return espera;
+            }
+            if (chegadaTeorica.compareAndSet(atual, inicio + intervalo)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.jogadores.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(LimitesProperties.class)
+public class LimitesConfig implements WebMvcConfigurer {
+
+    private LimitesProperties properties;
+    private ObjectMapper objectMapper;
+
+    public LimitesConfig(LimitesProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.isHabilitado()) {
+            registry.addInterceptor(new LimitesInterceptor(properties, objectMapper))
+                    .addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.jogadores.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jogadores.controller.exception.ApiErrors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class LimitesInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATRIBUTO_BULKHEAD = LimitesInterceptor.class.getName() + ".bulkhead";
+
+    private final LimitesProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, LimiteTaxa> taxas;
+    private final Map<String, Bulkhead> bulkheads = new HashMap<>();
+
+    public LimitesInterceptor(LimitesProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.taxas = Caffeine.newBuilder()
+                .maximumSize(properties.getClientesMaximos())
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        properties.getConcorrencia().forEach((endpoint, limite) -> {
+            if (limite != null && limite > 0) {
+                bulkheads.put(endpoint, new Bulkhead(limite));
+            }
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // o despacho assíncrono do streaming continua com a vaga obtida no despacho original
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        long agora = System.nanoTime();
+        long espera = taxas.get(cliente(request),
+                cliente -> new LimiteTaxa(properties.getRequisicoesPorSegundo(), properties.getRajada(), agora))
+                .consumir(agora);
+        if (espera > 0) {
+            recusar(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera + TimeUnit.SECONDS.toNanos(1) - 1)),
+                    "Limite de requisições excedido");
+            return false;
+        }
+
+        Bulkhead bulkhead = bulkheads.get(endpoint((HandlerMethod) handler));
+        if (bulkhead != null) {
+            if (!bulkhead.entrar()) {
+                recusar(response, 1, "Muitas requisições simultâneas para este recurso");
+                return false;
+            }
+            request.setAttribute(ATRIBUTO_BULKHEAD, bulkhead);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Bulkhead bulkhead = (Bulkhead) request.getAttribute(ATRIBUTO_BULKHEAD);
+        if (bulkhead != null) {
+            request.removeAttribute(ATRIBUTO_BULKHEAD);
+            bulkhead.sair();
+        }
+    }
+
+    // só chaves conhecidas ganham balde próprio; um valor inventado a cada requisição cai no balde do IP
+    private String cliente(HttpServletRequest request) {
+        String chave = request.getHeader(properties.getClienteHeader());
+        return chave != null && properties.getChaves().contains(chave) ? "chave:" + chave : "ip:" + request.getRemoteAddr();
+    }
+
+    private static String endpoint(HandlerMethod handler) {
+        return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+    }
+
+    private void recusar(HttpServletResponse response, long segundos, String mensagem) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ApiErrors(mensagem));
+    }
+}
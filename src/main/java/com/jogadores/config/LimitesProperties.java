@@ -0,0 +1,30 @@
+package com.jogadores.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "jogadores.limites")
+public class LimitesProperties {
+
+    private boolean habilitado;
+
+    private double requisicoesPorSegundo = 50;
+
+    private int rajada = 100;
+
+    private String clienteHeader = "X-Api-Key";
+
+    // chaves aceitas no clienteHeader; as demais requisições são limitadas pelo IP
+    private Set<String> chaves = new HashSet<>();
+
+    private int clientesMaximos = 100_000;
+
+    // requisições simultâneas por Controller.metodo, ex. JogadorController.find; 0 ou ausente = sem limite
+    private Map<String, Integer> concorrencia = new HashMap<>();
+}
@@ -0,0 +1,49 @@
+package com.jogadores.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class LogSqlVerificador {
+
+    private static final Logger log = LoggerFactory.getLogger(LogSqlVerificador.class);
+
+    private Environment environment;
+
+    public LogSqlVerificador(Environment environment) {
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificar() {
+        List<String> ativos = ativos();
+        if (!ativos.isEmpty()) {
+            log.warn("Log de SQL ativo ({}): cada comando é escrito de forma síncrona e reduz o throughput; "
+                    + "desative-o em produção (perfil prod)", String.join(", ", ativos));
+        }
+    }
+
+    List<String> ativos() {
+        List<String> ativos = new ArrayList<>();
+        if (environment.getProperty("spring.jpa.show-sql", Boolean.class, false)) {
+            ativos.add("spring.jpa.show-sql");
+        }
+        if (environment.getProperty("spring.jpa.properties.hibernate.format_sql", Boolean.class, false)) {
+            ativos.add("hibernate.format_sql");
+        }
+        if (LoggerFactory.getLogger("org.hibernate.SQL").isDebugEnabled()) {
+            ativos.add("logging.level.org.hibernate.SQL");
+        }
+        if (LoggerFactory.getLogger("org.hibernate.type.descriptor.sql").isTraceEnabled()) {
+            ativos.add("logging.level.org.hibernate.type.descriptor.sql");
+        }
+        return ativos;
+    }
+}
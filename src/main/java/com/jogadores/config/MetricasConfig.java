@@ -0,0 +1,26 @@
+package com.jogadores.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ContadorConsultasFilter> contadorConsultasFilter(
+            MeterRegistry registry, @Value("${jogadores.consultas.limite-por-requisicao:10}") long limite) {
+        FilterRegistrationBean<ContadorConsultasFilter> registro =
+                new FilterRegistrationBean<>(new ContadorConsultasFilter(registry, limite));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
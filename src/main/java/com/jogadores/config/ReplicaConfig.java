@@ -0,0 +1,53 @@
+package com.jogadores.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "jogadores.replica.habilitada", havingValue = "true")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("jogadores.replica.datasource")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties) {
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(RoteamentoDataSource.PRIMARIO, primarioDataSource(properties));
+        HikariDataSource replica = replicaDataSource();
+        if (replica.getJdbcUrl() == null) {
+            throw new IllegalStateException("Informe jogadores.replica.datasource.jdbc-url para habilitar a réplica");
+        }
+        destinos.put(RoteamentoDataSource.REPLICA, replica);
+
+        RoteamentoDataSource roteamento = new RoteamentoDataSource();
+        roteamento.setTargetDataSources(destinos);
+        roteamento.setDefaultTargetDataSource(destinos.get(RoteamentoDataSource.PRIMARIO));
+        roteamento.afterPropertiesSet();
+        // a conexão só é obtida no primeiro comando, depois que a transação já marcou se é somente leitura
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+}
@@ -0,0 +1,42 @@
+package com.jogadores.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARIO = "primario";
+    static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PRIMARIO_EXIGIDO = new ThreadLocal<>();
+
+    // leituras que alimentam caches ficam no primário: o atraso da réplica sobreviveria nelas
+    public static Primario noPrimario() {
+        boolean externo = PRIMARIO_EXIGIDO.get() == null;
+        PRIMARIO_EXIGIDO.set(Boolean.TRUE);
+        return new Primario(externo);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARIO_EXIGIDO.get() == null
+                ? REPLICA
+                : PRIMARIO;
+    }
+
+    public static final class Primario implements AutoCloseable {
+
+        private final boolean externo;
+
+        private Primario(boolean externo) {
+            this.externo = externo;
+        }
+
+        @Override
+        public void close() {
+            if (externo) {
+                PRIMARIO_EXIGIDO.remove();
+            }
+        }
+    }
+}
@@ -1,82 +1,535 @@
 package com.jogadores.controller;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jogadores.controller.dto.EventoJogadorDTO;
 import com.jogadores.controller.dto.JogadorDTO;
 import com.jogadores.controller.exception.ApiErrors;
+import com.jogadores.controller.mapper.JogadorMapper;
 import com.jogadores.exceptions.BusinessException;
+import com.jogadores.exceptions.EventosExpiradosException;
+import com.jogadores.exceptions.FilaCheiaException;
+import com.jogadores.model.EventoJogador;
 import com.jogadores.model.Jogador;
+import com.jogadores.model.TipoBusca;
+import com.jogadores.service.CadastroAssincronoService;
+import com.jogadores.service.CursorPage;
+import com.jogadores.service.EventosService;
 import com.jogadores.service.JogadorService;
-import org.modelmapper.ModelMapper;
+import com.jogadores.service.Resultado;
+import com.jogadores.service.ResultadoImportacao;
+import com.jogadores.service.ResultadoPorIds;
+import com.jogadores.service.ResumoGrupo;
+import com.jogadores.service.StatusCadastro;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import javax.validation.Valid;
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/jogadores")
 public class JogadorController {
 
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final int TAMANHO_LOTE_IMPORTACAO = 1000;
+    private static final String CONTEUDO_INVALIDO = "Conteúdo inválido; as linhas seguintes não foram processadas";
+    private static final int TAMANHO_BUFFER_EXPORTACAO = 64 * 1024;
+    private static final String CABECALHO_CSV = "id,nome,email,telefone,codinome,grupo\n";
+    private static final int LIMITE_EVENTOS = 500;
+    private static final int ESPERA_MAXIMA_EVENTOS_S = 60;
+
     private JogadorService service;
-    private ModelMapper modelMapper;
+    private CadastroAssincronoService cadastroAssincrono;
+    private EventosService eventos;
+    private JogadorMapper mapper;
+    private ObjectMapper objectMapper;
+    private Validator validator;
+    private String cacheControlJogador;
+    private String cacheControlListagem;
 
-    public JogadorController(JogadorService service, ModelMapper modelMapper) {
+    public JogadorController(JogadorService service, CadastroAssincronoService cadastroAssincrono, EventosService eventos,
+                             JogadorMapper mapper, ObjectMapper objectMapper, Validator validator,
+                             @Value("${jogadores.http.cache-control.jogador:no-cache}") String cacheControlJogador,
+                             @Value("${jogadores.http.cache-control.listagem:no-cache}") String cacheControlListagem) {
         this.service = service;
-        this.modelMapper = modelMapper;
+        this.cadastroAssincrono = cadastroAssincrono;
+        this.eventos = eventos;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.cacheControlJogador = cacheControlJogador;
+        this.cacheControlListagem = cacheControlListagem;
     }
 
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public JogadorDTO create(@RequestBody @Valid JogadorDTO dto){
-        Jogador entity = modelMapper.map(dto, Jogador.class);
-        entity = service.save(entity);
-        return modelMapper.map(entity, JogadorDTO.class);
+    public ResponseEntity<?> create(@RequestBody JogadorDTO dto){
+        ApiErrors invalido = validar(dto);
+        if (invalido != null) {
+            return ResponseEntity.badRequest().body(invalido);
+        }
+        Jogador entity = mapper.toEntity(dto);
+        if (cadastroAssincrono.isHabilitado()) {
+            entity.setId(null);
+            entity.setVersao(null);
+            StatusCadastro status = cadastroAssincrono.enfileirar(entity);
+            URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                    .path("/cadastros/{ticket}")
+                    .buildAndExpand(status.getTicket())
+                    .toUri();
+            return ResponseEntity.accepted().location(location).body(status);
+        }
+        Resultado<Jogador> resultado = service.cadastrar(entity);
+        if (!resultado.isSucesso()) {
+            return ResponseEntity.badRequest().body(ApiErrors.de(resultado.getErro()));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toDTO(resultado.getValor()));
+    }
+
+    // entradas inválidas viram resposta direto, sem passar por exceção e @ExceptionHandler
+    private ApiErrors validar(JogadorDTO dto) {
+        Set<ConstraintViolation<JogadorDTO>> violacoes = validator.validate(dto);
+        return violacoes.isEmpty() ? null : new ApiErrors(violacoes);
+    }
+
+    @GetMapping("cadastros/{ticket}")
+    public StatusCadastro getStatusCadastro(@PathVariable String ticket) {
+        return cadastroAssincrono.getStatus(ticket)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    @PostMapping(value = "lote", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public List<ResultadoImportacao> importar(HttpServletRequest request) throws IOException {
+        List<ResultadoImportacao> resultados = new ArrayList<>();
+        List<Jogador> lote = new ArrayList<>(TAMANHO_LOTE_IMPORTACAO);
+        List<Integer> linhasLote = new ArrayList<>(TAMANHO_LOTE_IMPORTACAO);
+        int linha = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(request.getInputStream())) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token == JsonToken.START_OBJECT) {
+                JogadorDTO dto = parser.readValueAs(JogadorDTO.class);
+                Set<ConstraintViolation<JogadorDTO>> violacoes = validator.validate(dto);
+                if (violacoes.isEmpty()) {
+                    Jogador jogador = mapper.toEntity(dto);
+                    jogador.setId(null);
+                    lote.add(jogador);
+                    linhasLote.add(linha);
+                } else {
+                    resultados.add(ResultadoImportacao.invalido(linha, violacoes.stream()
+                            .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                            .collect(Collectors.joining(", "))));
+                }
+                linha++;
+                if (lote.size() == TAMANHO_LOTE_IMPORTACAO) {
+                    importarLote(lote, linhasLote, resultados);
+                }
+                token = parser.nextToken();
+            }
+            if (array ? token != JsonToken.END_ARRAY : token != null) {
+                resultados.add(ResultadoImportacao.invalido(linha, CONTEUDO_INVALIDO));
+            }
+        } catch (JsonProcessingException e) {
+            // os lotes anteriores já foram gravados: a resposta traz o resultado deles e a linha do erro
+            resultados.add(ResultadoImportacao.invalido(linha, CONTEUDO_INVALIDO));
+        }
+        importarLote(lote, linhasLote, resultados);
+        resultados.sort(Comparator.comparingInt(ResultadoImportacao::getLinha));
+        return resultados;
+    }
+
+    private void importarLote(List<Jogador> lote, List<Integer> linhasLote, List<ResultadoImportacao> resultados) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        List<ResultadoImportacao> importados;
+        try {
+            importados = service.importar(lote);
+        } catch (DataIntegrityViolationException e) {
+            importados = individualmente(lote);
+        }
+        for (int i = 0; i < importados.size(); i++) {
+            resultados.add(importados.get(i).comLinha(linhasLote.get(i)));
+        }
+        lote.clear();
+        linhasLote.clear();
+    }
+
+    // um cadastro concorrente tomou um codinome do lote depois da verificação e desfez o lote inteiro
+    private List<ResultadoImportacao> individualmente(List<Jogador> lote) {
+        List<ResultadoImportacao> resultados = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            Jogador jogador = lote.get(i);
+            jogador.setId(null);
+            jogador.setVersao(null);
+            try {
+                Resultado<Jogador> resultado = service.cadastrar(jogador);
+                resultados.add(resultado.isSucesso()
+                        ? ResultadoImportacao.criado(i, resultado.getValor().getId())
+                        : ResultadoImportacao.duplicado(i));
+            } catch (BusinessException e) {
+                resultados.add(ResultadoImportacao.duplicado(i));
+            } catch (DataIntegrityViolationException e) {
+                resultados.add(ResultadoImportacao.invalido(i, "Dados inválidos"));
+            }
+        }
+        return resultados;
     }
 
     @GetMapping("{id}")
-    public JogadorDTO getById(@PathVariable Long id){
-        return service.getById(id)
-                .map(jogador -> modelMapper.map(jogador, JogadorDTO.class))
+    public ResponseEntity<JogadorDTO> getById(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        Long versaoConhecida = service.versaoConhecida(id);
+        if (versaoConhecida != null && naoModificado(ifNoneMatch, etag(versaoConhecida))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag(versaoConhecida))
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControlJogador)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        Jogador jogador = service.getById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, cacheControlJogador)
+                .varyBy(HttpHeaders.ACCEPT);
+        if (jogador.getVersao() != null) {
+            resposta.eTag(etag(jogador.getVersao()));
+        }
+        return resposta.body(mapper.toDTO(jogador));
+    }
+
+    @GetMapping("lote")
+    public ResultadoPorIds<JogadorDTO> getByIds(@RequestParam List<Long> ids) {
+        return mapper.toDTOResultadoPorIds(service.getByIds(ids));
     }
 
     @DeleteMapping("{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteJogador(@PathVariable Long id) {
-        Jogador jogador = service.getById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        service.deleteJogador(jogador);
+        if (!service.deleteById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @DeleteMapping
+    public Map<String, Integer> deleteJogadores(@RequestParam(required = false) List<Long> ids,
+                                                JogadorDTO dto,
+                                                @RequestParam(defaultValue = "CONTEM") TipoBusca busca) {
+        int excluidos = ids != null
+                ? service.deleteByIds(ids)
+                : service.deleteJogadores(mapper.toEntity(dto), busca);
+        return Collections.singletonMap("excluidos", excluidos);
     }
 
     @PutMapping("{id}")
-    public JogadorDTO updateJogador(@PathVariable Long id, @RequestBody @Valid JogadorDTO dto){
-        return service.getById(id).map(jogador -> {
-            jogador.setNome(dto.getNome());
-            jogador.setEmail(dto.getEmail());
-            jogador.setTelefone(dto.getTelefone());
-            jogador.setCodinome(dto.getCodinome());
-            jogador.setGrupo(dto.getGrupo());
-            return modelMapper.map(jogador, JogadorDTO.class);
+    public ResponseEntity<?> updateJogador(@PathVariable Long id, @RequestBody JogadorDTO dto){
+        ApiErrors invalido = validar(dto);
+        if (invalido != null) {
+            return ResponseEntity.badRequest().body(invalido);
+        }
+        // o jogador lido pode ser a instância do cache, vista por outras requisições: as alterações vão numa cópia
+        Jogador jogador = service.getById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND))
+                .toBuilder()
+                .nome(dto.getNome())
+                .email(dto.getEmail())
+                .telefone(dto.getTelefone())
+                .codinome(dto.getCodinome())
+                .grupo(dto.getGrupo())
+                .build();
+        if (dto.getVersao() != null) {
+            jogador.setVersao(dto.getVersao());
+        }
+        Resultado<Jogador> resultado = service.atualizar(jogador);
+        if (!resultado.isSucesso()) {
+            return ResponseEntity.badRequest().body(ApiErrors.de(resultado.getErro()));
+        }
+        return ResponseEntity.ok(mapper.toDTO(resultado.getValor()));
+    }
 
-        }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    @PatchMapping("{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void atualizarParcial(@PathVariable Long id, @RequestBody JogadorDTO dto) {
+        Jogador alteracoes = mapper.toEntity(dto);
+        if (!service.atualizarParcial(id, dto.getVersao(), alteracoes)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
     }
 
     @GetMapping
-    public Page<JogadorDTO> find(JogadorDTO dto, Pageable pageRequest ){
-        Jogador filter = modelMapper.map(dto, Jogador.class);
-        Page<Jogador> result = service.findJogador(filter, pageRequest);
-        List<JogadorDTO> list = result.getContent()
-                .stream()
-                .map(entity -> modelMapper.map(entity, JogadorDTO.class))
-                .collect(Collectors.toList());
+    public ResponseEntity<Page<?>> find(JogadorDTO dto,
+                                        @RequestParam(defaultValue = "CONTEM") TipoBusca busca,
+                                        @RequestParam(required = false) List<String> fields,
+                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                        Pageable pageRequest ){
+        return listagem(ifNoneMatch, () -> {
+            Jogador filter = mapper.toEntity(dto);
+            if (fields != null) {
+                return service.findCampos(filter, busca, fields, pageRequest);
+            }
+            Page<Jogador> result = service.findJogador(filter, busca, pageRequest);
+            return mapper.toDTOPage(result);
+        });
+    }
+
+    @GetMapping("cursor")
+    public ResponseEntity<CursorPage<JogadorDTO>> findCursor(JogadorDTO dto,
+                                                             @RequestParam(defaultValue = "CONTEM") TipoBusca busca,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "20") int size,
+                                                             @RequestParam(defaultValue = "false") boolean total,
+                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return listagem(ifNoneMatch, () -> {
+            Jogador filter = mapper.toEntity(dto);
+            CursorPage<Jogador> result = service.findJogador(filter, busca, cursor, size, total);
+            return mapper.toDTOCursorPage(result);
+        });
+    }
+
+    // a versão da coleção é lida antes da consulta: uma gravação concorrente gera uma ETag nova na próxima requisição
+    private <T> ResponseEntity<T> listagem(String ifNoneMatch, Supplier<T> consulta) {
+        String etag = "W/\"c" + service.versaoColecao() + "\"";
+        if (naoModificado(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControlListagem)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControlListagem)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(consulta.get());
+    }
+
+    // ETag fraca: o Tomcat não comprime respostas com ETag forte, e JSON e CBOR da mesma versão compartilham o valor
+    private String etag(Long versao) {
+        return "W/\"" + versao + "\"";
+    }
+
+    // comparação fraca do If-None-Match: o prefixo W/ é ignorado dos dois lados
+    private boolean naoModificado(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaca = etag.substring(2);
+        for (String candidata : ifNoneMatch.split(",")) {
+            String valor = candidata.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(opaca)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        return new PageImpl<JogadorDTO>( list, pageRequest, result.getTotalElements() );
+    @GetMapping("grupos")
+    public List<ResumoGrupo> getGrupos() {
+        return service.getGrupos();
+    }
+
+    @GetMapping("grupos/{grupo}")
+    public Page<JogadorDTO> findJogadoresDoGrupo(@PathVariable String grupo, Pageable pageRequest) {
+        return mapper.toDTOPage(service.findJogadoresDoGrupo(grupo, pageRequest));
+    }
+
+    @GetMapping("codinomes/{codinome}")
+    public List<JogadorDTO> findPorCodinome(@PathVariable String codinome) {
+        return mapper.toDTOList(service.findPorCodinome(codinome));
+    }
+
+    @GetMapping("emails/{email:.+}")
+    public List<JogadorDTO> findPorEmail(@PathVariable String email) {
+        return mapper.toDTOList(service.findPorEmail(email));
+    }
+
+    @GetMapping("exportacao")
+    public ResponseEntity<StreamingResponseBody> exportar(JogadorDTO dto,
+                                                         @RequestParam(defaultValue = "CONTEM") TipoBusca busca,
+                                                         @RequestParam(defaultValue = "ndjson") String formato) {
+        Jogador filter = mapper.toEntity(dto);
+        boolean csv = "csv".equalsIgnoreCase(formato);
+        if (!csv && !"ndjson".equalsIgnoreCase(formato)) {
+            throw new BusinessException("Formato de exportação inválido: " + formato);
+        }
+
+        StreamingResponseBody corpo = saida -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER_EXPORTACAO);
+            if (csv) {
+                writer.write(CABECALHO_CSV);
+                service.exportar(filter, busca, jogador -> escreverCsv(writer, jogador));
+            } else {
+                SequenceWriter sequenceWriter = objectMapper.writer()
+                        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                        .withRootValueSeparator("\n")
+                        .writeValues(writer);
+                service.exportar(filter, busca, jogador -> escreverJson(sequenceWriter, jogador));
+                sequenceWriter.flush();
+            }
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=jogadores." + (csv ? "csv" : "ndjson"))
+                .body(corpo);
+    }
+
+    private void escreverJson(SequenceWriter sequenceWriter, Jogador jogador) {
+        try {
+            sequenceWriter.write(mapper.toDTO(jogador));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escreverCsv(Writer writer, Jogador jogador) {
+        try {
+            writer.write(String.valueOf(jogador.getId()));
+            for (String valor : new String[]{jogador.getNome(), jogador.getEmail(), jogador.getTelefone(),
+                    jogador.getCodinome(), jogador.getGrupo()}) {
+                writer.write(',');
+                escreverCampoCsv(writer, valor);
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escreverCampoCsv(Writer writer, String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        boolean aspas = valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        if (!aspas) {
+            writer.write(valor);
+            return;
+        }
+        writer.write('"');
+        writer.write(valor.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @GetMapping("eventos")
+    public DeferredResult<List<EventoJogadorDTO>> listarEventos(@RequestParam(defaultValue = "0") long desde,
+                                                                @RequestParam(defaultValue = "100") int limite,
+                                                                @RequestParam(defaultValue = "30") int espera) {
+        exigirEventos();
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_EVENTOS));
+        DeferredResult<List<EventoJogadorDTO>> resultado = new DeferredResult<>(
+                TimeUnit.SECONDS.toMillis(Math.max(1, Math.min(espera, ESPERA_MAXIMA_EVENTOS_S))), Collections.emptyList());
+        CompletableFuture<Void> aguardando = espera > 0 ? eventos.aguardar(desde) : CompletableFuture.completedFuture(null);
+        resultado.onCompletion(() -> aguardando.cancel(false));
+        aguardando.thenRun(() -> {
+            try {
+                resultado.setResult(mapper.toDTOEventos(eventos.listar(desde, tamanho)));
+            } catch (RuntimeException e) {
+                resultado.setErrorResult(e);
+            }
+        });
+        return resultado;
+    }
+
+    @GetMapping(value = "eventos/transmissao", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter transmitirEventos(@RequestParam(defaultValue = "0") long desde,
+                                        @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoRecebido) {
+        exigirEventos();
+        SseEmitter emitter = new SseEmitter();
+        AtomicReference<CompletableFuture<Void>> aguardando = new AtomicReference<>();
+        emitter.onCompletion(() -> aguardando.get().cancel(false));
+        transmitir(emitter, aguardando, ultimoRecebido != null ? ultimoRecebido : desde);
+        return emitter;
+    }
+
+    // envia tudo o que já existe depois do cursor e volta a esperar pelo próximo lote do despachante
+    private void transmitir(SseEmitter emitter, AtomicReference<CompletableFuture<Void>> aguardando, long desde) {
+        CompletableFuture<Void> proximo = eventos.aguardar(desde);
+        aguardando.set(proximo);
+        proximo.thenRun(() -> {
+            long cursor = desde;
+            try {
+                List<EventoJogador> lote;
+                do {
+                    lote = eventos.listar(cursor, LIMITE_EVENTOS);
+                    for (EventoJogador evento : lote) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(evento.getSequencia()))
+                                .name(evento.getTipo().name())
+                                .data(mapper.toDTOEvento(evento), MediaType.APPLICATION_JSON));
+                        cursor = evento.getSequencia();
+                    }
+                } while (lote.size() == LIMITE_EVENTOS);
+            } catch (EventosExpiradosException e) {
+                enviarExpirado(emitter, e);
+                return;
+            } catch (IOException | RuntimeException e) {
+                emitter.completeWithError(e);
+                return;
+            }
+            transmitir(emitter, aguardando, cursor);
+        });
+    }
+
+    private void enviarExpirado(SseEmitter emitter, EventosExpiradosException e) {
+        try {
+            emitter.send(SseEmitter.event().name("EXPIRADO").data(new ApiErrors(e.getMessage()), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException falha) {
+            emitter.completeWithError(falha);
+        }
+    }
+
+    private void exigirEventos() {
+        if (!eventos.isHabilitado()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -86,9 +539,28 @@ public class JogadorController {
         return new ApiErrors(bindingResult);
     }
 
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiErrors handleOptimisticLockingException(ObjectOptimisticLockingFailureException ex) {
+        return ApiErrors.JOGADOR_ALTERADO;
+    }
+
+    @ExceptionHandler(FilaCheiaException.class)
+    public ResponseEntity<ApiErrors> handleFilaCheiaException(FilaCheiaException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiErrors.de(ex.getMessage()));
+    }
+
+    @ExceptionHandler(EventosExpiradosException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    public ApiErrors handleEventosExpiradosException(EventosExpiradosException ex) {
+        return new ApiErrors(ex.getMessage());
+    }
+
     @ExceptionHandler(BusinessException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiErrors handleBusinessException(BusinessException ex) {
-        return new ApiErrors(ex);
+        return ApiErrors.de(ex);
     }
 }
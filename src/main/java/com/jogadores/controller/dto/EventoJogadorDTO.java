@@ -0,0 +1,32 @@
+package com.jogadores.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.jogadores.model.TipoEvento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventoJogadorDTO {
+
+    private Long sequencia;
+
+    private TipoEvento tipo;
+
+    private Long jogadorId;
+
+    private Long versao;
+
+    // o JSON gravado na outbox vai como está, sem ser lido e escrito de novo
+    @JsonRawValue
+    private String jogador;
+
+    private Instant criadoEm;
+
+}
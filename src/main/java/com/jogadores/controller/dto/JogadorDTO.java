@@ -30,4 +30,6 @@ public class JogadorDTO {
     @NotEmpty
     private String grupo;
 
+    private Long versao;
+
 }
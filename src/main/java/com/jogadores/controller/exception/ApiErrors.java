@@ -3,20 +3,59 @@ package com.jogadores.controller.exception;
 import com.jogadores.exceptions.BusinessException;
 import org.springframework.validation.BindingResult;
 
+import javax.validation.ConstraintViolation;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ApiErrors {
-    private List<String> errors;
+
+    public static final ApiErrors CODINOME_JA_CADASTRADO = new ApiErrors(BusinessException.CODINOME_JA_CADASTRADO.getMessage());
+    public static final ApiErrors JOGADOR_ALTERADO = new ApiErrors("O jogador foi alterado por outra requisição");
+    public static final ApiErrors FILA_CHEIA = new ApiErrors("Fila de cadastros cheia");
+
+    // respostas de erro frequentes são compartilhadas em vez de montadas a cada requisição recusada
+    private static final Map<String, ApiErrors> COMUNS = new HashMap<>();
+
+    static {
+        for (ApiErrors comum : Arrays.asList(CODINOME_JA_CADASTRADO, JOGADOR_ALTERADO, FILA_CHEIA)) {
+            COMUNS.put(comum.errors.get(0), comum);
+        }
+    }
+
+    private final List<String> errors;
 
     public ApiErrors(BindingResult bindingResult) {
-        this.errors = new ArrayList<>();
-        bindingResult.getAllErrors().forEach(error -> this.errors.add(error.getDefaultMessage()));
+        List<String> mensagens = new ArrayList<>();
+        bindingResult.getAllErrors().forEach(error -> mensagens.add(error.getDefaultMessage()));
+        this.errors = Collections.unmodifiableList(mensagens);
+    }
+
+    public ApiErrors(Collection<? extends ConstraintViolation<?>> violacoes) {
+        List<String> mensagens = new ArrayList<>(violacoes.size());
+        violacoes.forEach(violacao -> mensagens.add(violacao.getMessage()));
+        this.errors = Collections.unmodifiableList(mensagens);
     }
 
     public ApiErrors(BusinessException ex) {
-        this.errors = Arrays.asList(ex.getMessage());
+        this(ex.getMessage());
+    }
+
+    public ApiErrors(String mensagem) {
+        this.errors = Collections.singletonList(mensagem);
+    }
+
+    public static ApiErrors de(BusinessException ex) {
+        return de(ex.getMessage());
+    }
+
+    public static ApiErrors de(String mensagem) {
+        ApiErrors comum = COMUNS.get(mensagem);
+        return comum != null ? comum : new ApiErrors(mensagem);
     }
 
     public List<String> getErrors(){
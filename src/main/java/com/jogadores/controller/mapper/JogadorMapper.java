@@ -0,0 +1,85 @@
+package com.jogadores.controller.mapper;
+
+import com.jogadores.controller.dto.EventoJogadorDTO;
+import com.jogadores.controller.dto.JogadorDTO;
+import com.jogadores.model.EventoJogador;
+import com.jogadores.model.Jogador;
+import com.jogadores.service.CursorPage;
+import com.jogadores.service.ResultadoPorIds;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class JogadorMapper {
+
+    public JogadorDTO toDTO(Jogador jogador) {
+        if (jogador == null) {
+            return null;
+        }
+        JogadorDTO dto = new JogadorDTO();
+        dto.setId(jogador.getId());
+        dto.setNome(jogador.getNome());
+        dto.setEmail(jogador.getEmail());
+        dto.setTelefone(jogador.getTelefone());
+        dto.setCodinome(jogador.getCodinome());
+        dto.setGrupo(jogador.getGrupo());
+        dto.setVersao(jogador.getVersao());
+        return dto;
+    }
+
+    public Jogador toEntity(JogadorDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        Jogador jogador = new Jogador();
+        jogador.setId(dto.getId());
+        jogador.setNome(dto.getNome());
+        jogador.setEmail(dto.getEmail());
+        jogador.setTelefone(dto.getTelefone());
+        jogador.setCodinome(dto.getCodinome());
+        jogador.setGrupo(dto.getGrupo());
+        jogador.setVersao(dto.getVersao());
+        return jogador;
+    }
+
+    public List<JogadorDTO> toDTOList(List<Jogador> jogadores) {
+        List<JogadorDTO> lista = new ArrayList<>(jogadores.size());
+        for (Jogador jogador : jogadores) {
+            lista.add(toDTO(jogador));
+        }
+        return lista;
+    }
+
+    public Page<JogadorDTO> toDTOPage(Page<Jogador> page) {
+        return new PageImpl<>(toDTOList(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    public CursorPage<JogadorDTO> toDTOCursorPage(CursorPage<Jogador> page) {
+        return page.withContent(toDTOList(page.getContent()));
+    }
+
+    public ResultadoPorIds<JogadorDTO> toDTOResultadoPorIds(ResultadoPorIds<Jogador> resultado) {
+        return resultado.withContent(toDTOList(resultado.getContent()));
+    }
+
+    public EventoJogadorDTO toDTOEvento(EventoJogador evento) {
+        EventoJogadorDTO dto = new EventoJogadorDTO();
+        dto.setSequencia(evento.getSequencia());
+        dto.setTipo(evento.getTipo());
+        dto.setJogadorId(evento.getJogadorId());
+        dto.setVersao(evento.getVersao());
+        dto.setJogador(evento.getDados());
+        dto.setCriadoEm(evento.getCriadoEm());
+        return dto;
+    }
+
+    public List<EventoJogadorDTO> toDTOEventos(List<EventoJogador> eventos) {
+        List<EventoJogadorDTO> lista = new ArrayList<>(eventos.size());
+        for (EventoJogador evento : eventos) {
+            lista.add(toDTOEvento(evento));
+        }
+        return lista;
+    }
+}
@@ -1,9 +1,11 @@
 package com.jogadores.exceptions;
 
-import com.jogadores.model.Jogador;
-
+// recusas de regra de negócio viram 400 e nunca são logadas: a pilha não é capturada
 public class BusinessException extends RuntimeException {
+
+    public static final BusinessException CODINOME_JA_CADASTRADO = new BusinessException("Codinome já cadastrado");
+
     public BusinessException(String s) {
-        super(s);
+        super(s, null, false, false);
     }
 }
@@ -0,0 +1,7 @@
+package com.jogadores.exceptions;
+
+public class EventosExpiradosException extends RuntimeException {
+    public EventosExpiradosException(String s) {
+        super(s);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jogadores.exceptions;
+
+public class FilaCheiaException extends RuntimeException {
+    public FilaCheiaException(String s) {
+        super(s);
+    }
+}
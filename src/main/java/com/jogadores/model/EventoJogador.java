@@ -0,0 +1,43 @@
+package com.jogadores.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_evento_jogador_sequencia", columnNames = "sequencia"),
+        indexes = @Index(name = "idx_evento_jogador_criado_em", columnList = "criado_em"))
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventoJogador {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_jogador_seq")
+    @SequenceGenerator(name = "evento_jogador_seq", sequenceName = "evento_jogador_seq", allocationSize = 50)
+    private Long id;
+
+    // atribuída pelo despachante na ordem em que os eventos ficam visíveis, sem lacunas
+    private Long sequencia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TipoEvento tipo;
+
+    @Column(name = "jogador_id", nullable = false)
+    private Long jogadorId;
+
+    private Long versao;
+
+    @Column(length = 4000)
+    private String dados;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+}
@@ -4,24 +4,67 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
-@Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = Jogador.UK_CODINOME, columnNames = "codinome"),
+        indexes = {
+                @Index(name = "idx_jogador_nome_normalizado", columnList = "nome_normalizado"),
+                @Index(name = "idx_jogador_codinome_normalizado", columnList = "codinome_normalizado"),
+                @Index(name = "idx_jogador_email_normalizado", columnList = "email_normalizado"),
+                @Index(name = "idx_jogador_grupo_normalizado", columnList = "grupo_normalizado")
+        })
+@Builder(toBuilder = true)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Jogador {
 
+    public static final String UK_CODINOME = "uk_jogador_codinome";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jogador_seq")
+    @SequenceGenerator(name = "jogador_seq", sequenceName = "jogador_seq", allocationSize = 50)
     private Long id;
     private String nome;
     private String email;
     private String telefone;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String codinome;
     private String grupo;
+
+    @Version
+    private Long versao;
+
+    @Column(name = "nome_normalizado")
+    private String nomeNormalizado;
+
+    @Column(name = "email_normalizado")
+    private String emailNormalizado;
+
+    @Column(name = "telefone_normalizado")
+    private String telefoneNormalizado;
+
+    @Column(name = "codinome_normalizado")
+    private String codinomeNormalizado;
+
+    @Column(name = "grupo_normalizado")
+    private String grupoNormalizado;
+
+    @PrePersist
+    @PreUpdate
+    void normalizar() {
+        this.nomeNormalizado = TextoBusca.normalizar(nome);
+        this.emailNormalizado = TextoBusca.normalizar(email);
+        this.telefoneNormalizado = TextoBusca.normalizar(telefone);
+        this.codinomeNormalizado = TextoBusca.normalizar(codinome);
+        this.grupoNormalizado = TextoBusca.normalizar(grupo);
+    }
 }
@@ -0,0 +1,7 @@
+package com.jogadores.model;
+
+public enum TipoBusca {
+    EXATO,
+    PREFIXO,
+    CONTEM
+}
@@ -0,0 +1,7 @@
+package com.jogadores.model;
+
+public enum TipoEvento {
+    CRIADO,
+    ATUALIZADO,
+    EXCLUIDO
+}
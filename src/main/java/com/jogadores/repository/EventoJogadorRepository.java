@@ -0,0 +1,33 @@
+package com.jogadores.repository;
+
+import com.jogadores.model.EventoJogador;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
+
+public interface EventoJogadorRepository extends JpaRepository<EventoJogador, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from EventoJogador e where e.sequencia is null order by e.id")
+    List<EventoJogador> findPendentes(Pageable pageable);
+
+    @Query("select coalesce(max(e.sequencia), 0) from EventoJogador e")
+    long ultimaSequencia();
+
+    @Query("select min(e.sequencia) from EventoJogador e")
+    Long primeiraSequencia();
+
+    @Query("select e from EventoJogador e where e.sequencia > :desde order by e.sequencia")
+    List<EventoJogador> findDesde(@Param("desde") long desde, Pageable pageable);
+
+    @Modifying
+    @Query("delete from EventoJogador e where e.sequencia < :ultima and e.criadoEm < :limite")
+    int excluirAnteriores(@Param("ultima") long ultima, @Param("limite") Instant limite);
+}
@@ -0,0 +1,7 @@
+package com.jogadores.repository;
+
+public interface JogadorGrupo {
+    Long getId();
+
+    String getGrupo();
+}
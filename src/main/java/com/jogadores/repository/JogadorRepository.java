@@ -2,7 +2,52 @@ package com.jogadores.repository;
 
 import com.jogadores.model.Jogador;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface JogadorRepository extends JpaRepository<Jogador, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface JogadorRepository extends JpaRepository<Jogador, Long>, JpaSpecificationExecutor<Jogador>,
+        JogadorRepositoryCustom {
     boolean existsByCodinome(String codinome);
+
+    boolean existsByCodinomeAndIdNot(String codinome, Long id);
+
+    List<Jogador> findByCodinomeNormalizadoOrderById(String codinomeNormalizado);
+
+    List<Jogador> findByEmailNormalizadoOrderById(String emailNormalizado);
+
+    @Query("select j.codinome from Jogador j where j.codinome in :codinomes")
+    List<String> findCodinomesExistentes(@Param("codinomes") Collection<String> codinomes);
+
+    @Query("select j.id from Jogador j where j.id in :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    @Query("select j.codinome from Jogador j")
+    Stream<String> streamCodinomes();
+
+    @Query("select j.id as id, j.grupo as grupo from Jogador j")
+    Stream<JogadorGrupo> streamGrupos();
+
+    @Query("select min(j.grupo), count(j) from Jogador j where j.grupo is not null group by j.grupoNormalizado")
+    List<Object[]> contarPorGrupo();
+
+    @Query("select count(j), coalesce(sum(j.versao), 0) from Jogador j")
+    List<Object[]> resumirVersoes();
+
+    @Modifying
+    @Query("update Jogador j set j.versao = 0 where j.versao is null")
+    int preencherVersoes();
+
+    @Modifying
+    @Query("delete from Jogador j where j.id = :id")
+    int excluirPorId(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Jogador j where j.id in :ids")
+    int excluirPorIds(@Param("ids") Collection<Long> ids);
 }
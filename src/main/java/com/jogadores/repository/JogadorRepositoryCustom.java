@@ -0,0 +1,22 @@
+package com.jogadores.repository;
+
+import com.jogadores.model.Jogador;
+import com.jogadores.model.TipoBusca;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface JogadorRepositoryCustom {
+    List<Jogador> findAposId(Jogador filtro, TipoBusca tipoBusca, Long aposId, int limite);
+
+    Page<Map<String, Object>> findCampos(Jogador filtro, TipoBusca tipoBusca, List<String> campos, Pageable pageable);
+
+    int atualizarParcial(Long id, Long versao, Jogador alteracoes);
+
+    List<Long> travarIdsAposId(Jogador filtro, TipoBusca tipoBusca, Long aposId, int limite);
+
+    void percorrer(Jogador filtro, TipoBusca tipoBusca, Consumer<Jogador> consumidor);
+}
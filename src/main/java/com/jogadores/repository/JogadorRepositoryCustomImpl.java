@@ -0,0 +1,176 @@
+package com.jogadores.repository;
+
+import com.jogadores.model.Jogador;
+import com.jogadores.model.TextoBusca;
+import com.jogadores.model.TipoBusca;
+
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Selection;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class JogadorRepositoryCustomImpl implements JogadorRepositoryCustom {
+
+    private static final int TAMANHO_FETCH = 500;
+
+    private EntityManager entityManager;
+
+    public JogadorRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Jogador> findAposId(Jogador filtro, TipoBusca tipoBusca, Long aposId, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Jogador> query = cb.createQuery(Jogador.class);
+        Root<Jogador> root = query.from(Jogador.class);
+
+        List<Predicate> predicados = new ArrayList<>(Arrays.asList(
+                JogadorSpecifications.predicados(filtro, tipoBusca, root, cb)));
+        if (aposId != null) {
+            predicados.add(cb.greaterThan(root.get("id"), aposId));
+        }
+
+        query.select(root)
+                .where(predicados.toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public Page<Map<String, Object>> findCampos(Jogador filtro, TipoBusca tipoBusca, List<String> campos, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Jogador> root = query.from(Jogador.class);
+
+        List<Selection<?>> selecoes = new ArrayList<>(campos.size());
+        for (String campo : campos) {
+            selecoes.add(root.get(campo).alias(campo));
+        }
+        query.multiselect(selecoes)
+                .where(JogadorSpecifications.predicados(filtro, tipoBusca, root, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> consulta = entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_READONLY, true);
+        if (pageable.isPaged()) {
+            consulta.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+
+        List<Tuple> tuplas = consulta.getResultList();
+        List<Map<String, Object>> linhas = new ArrayList<>(tuplas.size());
+        for (Tuple tupla : tuplas) {
+            Map<String, Object> linha = new LinkedHashMap<>(campos.size() * 2);
+            for (String campo : campos) {
+                linha.put(campo, tupla.get(campo));
+            }
+            linhas.add(linha);
+        }
+        return PageableExecutionUtils.getPage(linhas, pageable, () -> contar(filtro, tipoBusca));
+    }
+
+    private long contar(Jogador filtro, TipoBusca tipoBusca) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Jogador> root = query.from(Jogador.class);
+        query.select(cb.count(root))
+                .where(JogadorSpecifications.predicados(filtro, tipoBusca, root, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public int atualizarParcial(Long id, Long versao, Jogador alteracoes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Jogador> update = cb.createCriteriaUpdate(Jogador.class);
+        Root<Jogador> root = update.from(Jogador.class);
+
+        definir(update, "nome", "nomeNormalizado", alteracoes.getNome());
+        definir(update, "email", "emailNormalizado", alteracoes.getEmail());
+        definir(update, "telefone", "telefoneNormalizado", alteracoes.getTelefone());
+        definir(update, "codinome", "codinomeNormalizado", alteracoes.getCodinome());
+        definir(update, "grupo", "grupoNormalizado", alteracoes.getGrupo());
+        // linhas anteriores à coluna versao ainda podem tê-la nula; null + 1 continuaria nulo
+        Expression<Long> versaoAtual = cb.coalesce(root.<Long>get("versao"), 0L);
+        update.set(root.<Long>get("versao"), cb.sum(versaoAtual, 1L));
+
+        Predicate condicao = cb.equal(root.get("id"), id);
+        if (versao != null) {
+            condicao = cb.and(condicao, cb.equal(versaoAtual, versao));
+        }
+        update.where(condicao);
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private void definir(CriteriaUpdate<Jogador> update, String atributo, String atributoNormalizado, String valor) {
+        if (valor != null) {
+            update.set(atributo, valor);
+            update.set(atributoNormalizado, TextoBusca.normalizar(valor));
+        }
+    }
+
+    @Override
+    public List<Long> travarIdsAposId(Jogador filtro, TipoBusca tipoBusca, Long aposId, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Jogador> root = query.from(Jogador.class);
+
+        List<Predicate> predicados = new ArrayList<>(Arrays.asList(
+                JogadorSpecifications.predicados(filtro, tipoBusca, root, cb)));
+        if (aposId != null) {
+            predicados.add(cb.greaterThan(root.get("id"), aposId));
+        }
+
+        query.select(root.get("id"))
+                .where(predicados.toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public void percorrer(Jogador filtro, TipoBusca tipoBusca, Consumer<Jogador> consumidor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Jogador> query = cb.createQuery(Jogador.class);
+        Root<Jogador> root = query.from(Jogador.class);
+        query.select(root)
+                .where(JogadorSpecifications.predicados(filtro, tipoBusca, root, cb))
+                .orderBy(cb.asc(root.get("id")));
+
+        try (Stream<Jogador> jogadores = entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_FETCH_SIZE, TAMANHO_FETCH)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setHint(QueryHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream()) {
+            jogadores.forEach(jogador -> {
+                consumidor.accept(jogador);
+                entityManager.detach(jogador);
+            });
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.jogadores.repository;
+
+import com.jogadores.model.Jogador;
+import com.jogadores.model.TextoBusca;
+import com.jogadores.model.TipoBusca;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class JogadorSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private JogadorSpecifications() {
+    }
+
+    public static Specification<Jogador> filtro(Jogador filtro, TipoBusca tipo) {
+        return (root, query, cb) -> cb.and(predicados(filtro, tipo, root, cb));
+    }
+
+    public static boolean vazio(Jogador filtro) {
+        return filtro == null || (filtro.getId() == null && filtro.getNome() == null && filtro.getEmail() == null
+                && filtro.getTelefone() == null && filtro.getCodinome() == null && filtro.getGrupo() == null);
+    }
+
+    public static Predicate[] predicados(Jogador filtro, TipoBusca tipo, Root<Jogador> root, CriteriaBuilder cb) {
+        if (filtro == null) {
+            return new Predicate[0];
+        }
+        List<Predicate> predicados = new ArrayList<>();
+        if (filtro.getId() != null) {
+            predicados.add(cb.equal(root.get("id"), filtro.getId()));
+        }
+        adicionar(predicados, root, cb, "nomeNormalizado", filtro.getNome(), tipo);
+        adicionar(predicados, root, cb, "emailNormalizado", filtro.getEmail(), tipo);
+        adicionar(predicados, root, cb, "telefoneNormalizado", filtro.getTelefone(), tipo);
+        adicionar(predicados, root, cb, "codinomeNormalizado", filtro.getCodinome(), tipo);
+        adicionar(predicados, root, cb, "grupoNormalizado", filtro.getGrupo(), tipo);
+        return predicados.toArray(new Predicate[0]);
+    }
+
+    private static void adicionar(List<Predicate> predicados, Root<Jogador> root, CriteriaBuilder cb,
+                                  String atributo, String valor, TipoBusca tipo) {
+        if (valor == null) {
+            return;
+        }
+        String termo = TextoBusca.normalizar(valor);
+        switch (tipo) {
+            case EXATO:
+                predicados.add(cb.equal(root.get(atributo), termo));
+                break;
+            case PREFIXO:
+                predicados.add(cb.like(root.get(atributo), escapar(termo) + "%", ESCAPE));
+                break;
+            default:
+                predicados.add(cb.like(root.get(atributo), "%" + escapar(termo) + "%", ESCAPE));
+        }
+    }
+
+    private static String escapar(String termo) {
+        StringBuilder sb = new StringBuilder(termo.length() + 4);
+        for (int i = 0; i < termo.length(); i++) {
+            char c = termo.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                sb.append(ESCAPE);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
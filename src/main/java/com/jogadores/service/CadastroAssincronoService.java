@@ -0,0 +1,13 @@
+package com.jogadores.service;
+
+import com.jogadores.model.Jogador;
+
+import java.util.Optional;
+
+public interface CadastroAssincronoService {
+    boolean isHabilitado();
+
+    StatusCadastro enfileirar(Jogador jogador);
+
+    Optional<StatusCadastro> getStatus(String ticket);
+}
@@ -0,0 +1,34 @@
+package com.jogadores.service;
+
+import com.jogadores.exceptions.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class Cursor {
+
+    private static final String PREFIXO = "id:";
+
+    private Cursor() {
+    }
+
+    public static String encode(Long id) {
+        byte[] bytes = (PREFIXO + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO)) {
+                throw new BusinessException("Cursor inválido");
+            }
+            return Long.valueOf(valor.substring(PREFIXO.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.jogadores.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    private String nextCursor;
+
+    private Long totalElements;
+
+    public boolean isLast() {
+        return nextCursor == null;
+    }
+
+    public <R> CursorPage<R> withContent(List<R> novoConteudo) {
+        return new CursorPage<>(novoConteudo, size, nextCursor, totalElements);
+    }
+}
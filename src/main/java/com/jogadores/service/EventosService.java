@@ -0,0 +1,23 @@
+package com.jogadores.service;
+
+import com.jogadores.model.EventoJogador;
+import com.jogadores.model.Jogador;
+import com.jogadores.model.TipoEvento;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface EventosService {
+    boolean isHabilitado();
+
+    void registrar(TipoEvento tipo, Jogador jogador);
+
+    void registrarTodos(TipoEvento tipo, Collection<Jogador> jogadores);
+
+    void registrarExclusoes(Collection<Long> ids);
+
+    List<EventoJogador> listar(long desde, int limite);
+
+    CompletableFuture<Void> aguardar(long desde);
+}
@@ -1,19 +1,60 @@
 package com.jogadores.service;
 
 import com.jogadores.model.Jogador;
+import com.jogadores.model.TipoBusca;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface JogadorService {
     Jogador save(Jogador any);
 
+    Resultado<Jogador> cadastrar(Jogador jogador);
+
+    List<ResultadoImportacao> importar(List<Jogador> jogadores);
+
     Optional<Jogador> getById(Long id);
 
+    ResultadoPorIds<Jogador> getByIds(Collection<Long> ids);
+
+    Long versaoConhecida(Long id);
+
+    long versaoColecao();
+
     void deleteJogador(Jogador jogador);
 
+    boolean deleteById(Long id);
+
+    int deleteByIds(Collection<Long> ids);
+
+    int deleteJogadores(Jogador filter, TipoBusca tipoBusca);
+
     Jogador updateJogador(Jogador jogador);
 
+    Resultado<Jogador> atualizar(Jogador jogador);
+
+    boolean atualizarParcial(Long id, Long versao, Jogador alteracoes);
+
     Page<Jogador> findJogador(Jogador filter, Pageable pageRequest);
+
+    Page<Jogador> findJogador(Jogador filter, TipoBusca tipoBusca, Pageable pageRequest);
+
+    Page<Map<String, Object>> findCampos(Jogador filter, TipoBusca tipoBusca, List<String> campos, Pageable pageRequest);
+
+    CursorPage<Jogador> findJogador(Jogador filter, TipoBusca tipoBusca, String cursor, int size, boolean total);
+
+    List<ResumoGrupo> getGrupos();
+
+    Page<Jogador> findJogadoresDoGrupo(String grupo, Pageable pageRequest);
+
+    List<Jogador> findPorCodinome(String codinome);
+
+    List<Jogador> findPorEmail(String email);
+
+    void exportar(Jogador filter, TipoBusca tipoBusca, Consumer<Jogador> consumidor);
 }
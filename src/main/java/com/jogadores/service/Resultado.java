@@ -0,0 +1,26 @@
+package com.jogadores.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Resultado<T> {
+
+    private final T valor;
+
+    private final String erro;
+
+    public boolean isSucesso() {
+        return erro == null;
+    }
+
+    public static <T> Resultado<T> sucesso(T valor) {
+        return new Resultado<>(valor, null);
+    }
+
+    public static <T> Resultado<T> falha(String erro) {
+        return new Resultado<>(null, erro);
+    }
+}
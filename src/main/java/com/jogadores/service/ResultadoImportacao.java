@@ -0,0 +1,39 @@
+package com.jogadores.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ResultadoImportacao {
+
+    public enum Status {
+        CRIADO,
+        DUPLICADO,
+        INVALIDO
+    }
+
+    private int linha;
+
+    private Status status;
+
+    private Long id;
+
+    private String mensagem;
+
+    public ResultadoImportacao comLinha(int novaLinha) {
+        return new ResultadoImportacao(novaLinha, status, id, mensagem);
+    }
+
+    public static ResultadoImportacao criado(int linha, Long id) {
+        return new ResultadoImportacao(linha, Status.CRIADO, id, null);
+    }
+
+    public static ResultadoImportacao duplicado(int linha) {
+        return new ResultadoImportacao(linha, Status.DUPLICADO, null, "Codinome já cadastrado");
+    }
+
+    public static ResultadoImportacao invalido(int linha, String mensagem) {
+        return new ResultadoImportacao(linha, Status.INVALIDO, null, mensagem);
+    }
+}
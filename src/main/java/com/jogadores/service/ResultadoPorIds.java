@@ -0,0 +1,19 @@
+package com.jogadores.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ResultadoPorIds<T> {
+
+    private List<T> content;
+
+    private List<Long> naoEncontrados;
+
+    public <R> ResultadoPorIds<R> withContent(List<R> novoConteudo) {
+        return new ResultadoPorIds<>(novoConteudo, naoEncontrados);
+    }
+}
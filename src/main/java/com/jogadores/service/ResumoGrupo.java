@@ -0,0 +1,13 @@
+package com.jogadores.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ResumoGrupo {
+
+    private String grupo;
+
+    private int total;
+}
@@ -0,0 +1,40 @@
+package com.jogadores.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StatusCadastro {
+
+    public enum Situacao {
+        PENDENTE,
+        CRIADO,
+        DUPLICADO,
+        ERRO
+    }
+
+    private String ticket;
+
+    private Situacao situacao;
+
+    private Long id;
+
+    private String mensagem;
+
+    public static StatusCadastro pendente(String ticket) {
+        return new StatusCadastro(ticket, Situacao.PENDENTE, null, null);
+    }
+
+    public static StatusCadastro criado(String ticket, Long id) {
+        return new StatusCadastro(ticket, Situacao.CRIADO, id, null);
+    }
+
+    public static StatusCadastro duplicado(String ticket) {
+        return new StatusCadastro(ticket, Situacao.DUPLICADO, null, "Codinome já cadastrado");
+    }
+
+    public static StatusCadastro erro(String ticket, String mensagem) {
+        return new StatusCadastro(ticket, Situacao.ERRO, null, mensagem);
+    }
+}
@@ -0,0 +1,230 @@
+package com.jogadores.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+// fotografia completa da tabela mais diários numerados com as gravações feitas depois dela
+class ArquivoJogadores implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivoJogadores.class);
+
+    private static final int MAGICO = 0x4A4F4741;
+    private static final int FORMATO = 1;
+    private static final int CABECALHO = Integer.BYTES * 3 + Long.BYTES;
+    private static final byte GRAVACAO = 1;
+    private static final byte REMOCAO = 2;
+    private static final String FOTOGRAFIA = "jogadores.snapshot";
+    private static final String PREFIXO_DIARIO = "jogadores-";
+    private static final String SUFIXO_DIARIO = ".diario";
+    private static final int BUFFER_ESCRITA = 1 << 20;
+
+    private final Path pasta;
+    private final boolean fsync;
+    private FileChannel diario;
+    private long geracao;
+    private int registrosNoDiario;
+
+    ArquivoJogadores(Path pasta, boolean fsync) {
+        this.pasta = pasta;
+        this.fsync = fsync;
+    }
+
+    // aplica a fotografia e os diários a partir da geração dela; falso se não há fotografia utilizável
+    synchronized boolean restaurar(Consumer<RegistroJogador> gravacao, LongConsumer remocao) throws IOException {
+        Files.createDirectories(pasta);
+        List<Long> diarios = diarios();
+        long proxima = diarios.isEmpty() ? 0 : diarios.get(diarios.size() - 1) + 1;
+        long inicio = lerFotografia(gravacao);
+        if (inicio >= 0) {
+            for (long numero : diarios) {
+                if (numero >= inicio) {
+                    lerDiario(caminhoDiario(numero), gravacao, remocao);
+                }
+            }
+        }
+        abrirDiario(Math.max(proxima, inicio));
+        return inicio >= 0;
+    }
+
+    synchronized void gravar(RegistroJogador registro) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + 1 + registro.tamanhoSerializado());
+        buffer.putInt(1 + registro.tamanhoSerializado());
+        buffer.put(GRAVACAO);
+        registro.escrever(buffer);
+        escrever(buffer);
+    }
+
+    synchronized void remover(long id) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + 1 + Long.BYTES);
+        buffer.putInt(1 + Long.BYTES);
+        buffer.put(REMOCAO);
+        buffer.putLong(id);
+        escrever(buffer);
+    }
+
+    synchronized int getRegistrosNoDiario() {
+        return registrosNoDiario;
+    }
+
+    // troca de diário; a fotografia da geração nova pode então ser escrita sem bloquear as gravações
+    synchronized long iniciarGeracao() throws IOException {
+        long nova = geracao + 1;
+        abrirDiario(nova);
+        return nova;
+    }
+
+    void escreverFotografia(long geracaoFotografia, RegistroJogador[] registros) throws IOException {
+        Path temporario = pasta.resolve(FOTOGRAFIA + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_ESCRITA);
+            buffer.putInt(MAGICO).putInt(FORMATO).putLong(geracaoFotografia).putInt(registros.length);
+            for (RegistroJogador registro : registros) {
+                if (buffer.remaining() < registro.tamanhoSerializado()) {
+                    esvaziar(canal, buffer);
+                }
+                if (buffer.remaining() < registro.tamanhoSerializado()) {
+                    ByteBuffer grande = ByteBuffer.allocate(registro.tamanhoSerializado());
+                    registro.escrever(grande);
+                    esvaziar(canal, grande);
+                } else {
+                    registro.escrever(buffer);
+                }
+            }
+            esvaziar(canal, buffer);
+            canal.force(true);
+        }
+        Files.move(temporario, pasta.resolve(FOTOGRAFIA), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        for (long numero : diarios()) {
+            if (numero < geracaoFotografia) {
+                Files.deleteIfExists(caminhoDiario(numero));
+            }
+        }
+    }
+
+    private long lerFotografia(Consumer<RegistroJogador> gravacao) throws IOException {
+        Path arquivo = pasta.resolve(FOTOGRAFIA);
+        if (!Files.exists(arquivo)) {
+            return -1;
+        }
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            if (canal.size() < CABECALHO || canal.size() > Integer.MAX_VALUE) {
+                log.warn("Fotografia {} ignorada: tamanho {} não suportado", arquivo, canal.size());
+                return -1;
+            }
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (mapa.getInt() != MAGICO || mapa.getInt() != FORMATO) {
+                log.warn("Fotografia {} ignorada: formato desconhecido", arquivo);
+                return -1;
+            }
+            long geracaoFotografia = mapa.getLong();
+            int quantidade = mapa.getInt();
+            for (int i = 0; i < quantidade; i++) {
+                gravacao.accept(RegistroJogador.ler(mapa));
+            }
+            return geracaoFotografia;
+        }
+    }
+
+    private void lerDiario(Path arquivo, Consumer<RegistroJogador> gravacao, LongConsumer remocao) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            while (mapa.remaining() >= Integer.BYTES) {
+                int tamanho = mapa.getInt();
+                if (tamanho <= 0 || tamanho > mapa.remaining()) {
+                    // registro incompleto de uma queda durante a escrita: a gravação não chegou a ser confirmada aqui
+                    log.warn("Final incompleto ignorado no diário {}", arquivo);
+                    return;
+                }
+                byte tipo = mapa.get();
+                if (tipo == GRAVACAO) {
+                    gravacao.accept(RegistroJogador.ler(mapa));
+                } else {
+                    remocao.accept(mapa.getLong());
+                }
+            }
+        }
+    }
+
+    private void abrirDiario(long numero) throws IOException {
+        if (diario != null) {
+            diario.close();
+        }
+        diario = FileChannel.open(caminhoDiario(numero), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        geracao = numero;
+        registrosNoDiario = 0;
+    }
+
+    private void escrever(ByteBuffer buffer) {
+        if (diario == null) {
+            return;
+        }
+        try {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                diario.write(buffer);
+            }
+            if (fsync) {
+                diario.force(false);
+            }
+            registrosNoDiario++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void esvaziar(FileChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private List<Long> diarios() throws IOException {
+        List<Long> numeros = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(pasta, PREFIXO_DIARIO + "*" + SUFIXO_DIARIO)) {
+            for (Path arquivo : arquivos) {
+                String nome = arquivo.getFileName().toString();
+                try {
+                    numeros.add(Long.parseLong(nome.substring(PREFIXO_DIARIO.length(), nome.length() - SUFIXO_DIARIO.length())));
+                } catch (NumberFormatException e) {
+                    log.warn("Arquivo {} ignorado na pasta do modelo em memória", arquivo);
+                }
+            }
+        }
+        Collections.sort(numeros);
+        return numeros;
+    }
+
+    private Path caminhoDiario(long numero) {
+        return pasta.resolve(PREFIXO_DIARIO + numero + SUFIXO_DIARIO);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (diario != null) {
+            diario.close();
+            diario = null;
+        }
+    }
+}
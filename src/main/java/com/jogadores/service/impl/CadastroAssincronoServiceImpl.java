@@ -0,0 +1,240 @@
+package com.jogadores.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jogadores.exceptions.BusinessException;
+import com.jogadores.exceptions.FilaCheiaException;
+import com.jogadores.model.Jogador;
+import com.jogadores.repository.JogadorRepository;
+import com.jogadores.service.CadastroAssincronoService;
+import com.jogadores.service.JogadorService;
+import com.jogadores.service.ResultadoImportacao;
+import com.jogadores.service.StatusCadastro;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class CadastroAssincronoServiceImpl implements CadastroAssincronoService {
+
+    private static final Logger log = LoggerFactory.getLogger(CadastroAssincronoServiceImpl.class);
+
+    private static final long ESPERA_INICIAL_MS = 100;
+    private static final long ESPERA_MAXIMA_MS = 10_000;
+    private static final int TENTATIVAS_LOTE = 5;
+
+    private final JogadorService service;
+    private final JogadorRepository repository;
+    private final boolean habilitado;
+    private final int tamanhoLote;
+    private final BlockingQueue<PedidoCadastro> fila;
+    private final Set<String> reservados = ConcurrentHashMap.newKeySet();
+    private final Cache<String, StatusCadastro> status;
+    private final DiarioCadastros diario;
+    private volatile boolean ativo;
+    private Thread escritor;
+
+    public CadastroAssincronoServiceImpl(JogadorService service, JogadorRepository repository, ObjectMapper objectMapper,
+                                         @Value("${jogadores.cadastro.assincrono.habilitado:false}") boolean habilitado,
+                                         @Value("${jogadores.cadastro.assincrono.capacidade:10000}") int capacidade,
+                                         @Value("${jogadores.cadastro.assincrono.tamanho-lote:500}") int tamanhoLote,
+                                         @Value("${jogadores.cadastro.assincrono.diario:data/cadastros-pendentes.ndjson}") String diario,
+                                         @Value("${jogadores.cadastro.assincrono.fsync:false}") boolean fsync) {
+        this.service = service;
+        this.repository = repository;
+        this.habilitado = habilitado;
+        this.tamanhoLote = tamanhoLote;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.status = Caffeine.newBuilder()
+                .maximumSize(capacidade * 10L)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+        this.diario = new DiarioCadastros(Paths.get(diario), fsync, objectMapper);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() throws IOException, InterruptedException {
+        if (!habilitado) {
+            return;
+        }
+        List<PedidoCadastro> pendentes = diario.abrir();
+        ativo = true;
+        escritor = new Thread(this::escrever, "cadastro-assincrono");
+        escritor.setDaemon(true);
+        escritor.start();
+
+        for (PedidoCadastro pedido : pendentes) {
+            reservados.add(pedido.getJogador().getCodinome());
+            status.put(pedido.getTicket(), StatusCadastro.pendente(pedido.getTicket()));
+            fila.put(pedido);
+        }
+        if (!pendentes.isEmpty()) {
+            log.info("{} cadastros pendentes recuperados do diário", pendentes.size());
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() throws IOException, InterruptedException {
+        if (escritor == null) {
+            return;
+        }
+        ativo = false;
+        escritor.interrupt();
+        escritor.join(TimeUnit.SECONDS.toMillis(30));
+        diario.close();
+    }
+
+    @Override
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    @Override
+    public StatusCadastro enfileirar(Jogador jogador) {
+        String codinome = jogador.getCodinome();
+        if (!reservados.add(codinome)) {
+            throw BusinessException.CODINOME_JA_CADASTRADO;
+        }
+        try {
+            if (repository.existsByCodinome(codinome)) {
+                throw BusinessException.CODINOME_JA_CADASTRADO;
+            }
+            PedidoCadastro pedido = new PedidoCadastro(UUID.randomUUID().toString(), jogador);
+            StatusCadastro pendente = StatusCadastro.pendente(pedido.getTicket());
+            status.put(pedido.getTicket(), pendente);
+            // a fila e o diário mudam juntos: o escritor não conclui um pedido que ainda não foi registrado
+            synchronized (diario) {
+                if (!fila.offer(pedido)) {
+                    status.invalidate(pedido.getTicket());
+                    throw new FilaCheiaException("Fila de cadastros cheia");
+                }
+                try {
+                    diario.registrar(pedido);
+                } catch (UncheckedIOException e) {
+                    fila.remove(pedido);
+                    status.invalidate(pedido.getTicket());
+                    throw e;
+                }
+            }
+            return pendente;
+        } catch (RuntimeException e) {
+            reservados.remove(codinome);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<StatusCadastro> getStatus(String ticket) {
+        return Optional.ofNullable(status.getIfPresent(ticket));
+    }
+
+    private void escrever() {
+        List<PedidoCadastro> lote = new ArrayList<>(tamanhoLote);
+        while (ativo) {
+            try {
+                PedidoCadastro primeiro = fila.poll(1, TimeUnit.SECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoLote - 1);
+                gravar(lote);
+                lote.clear();
+            } catch (InterruptedException e) {
+                // os pedidos ainda não concluídos continuam no diário e são recuperados na próxima inicialização
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void gravar(List<PedidoCadastro> lote) throws InterruptedException {
+        long espera = ESPERA_INICIAL_MS;
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                concluir(lote, importar(lote));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                concluir(lote, individualmente(lote));
+                return;
+            } catch (RuntimeException e) {
+                if (tentativa == TENTATIVAS_LOTE) {
+                    // separa o pedido problemático em vez de repetir o lote para sempre
+                    log.warn("Falha ao gravar {} cadastros após {} tentativas; gravando um a um", lote.size(), tentativa, e);
+                    concluir(lote, individualmente(lote));
+                    return;
+                }
+                log.warn("Falha ao gravar {} cadastros; nova tentativa em {} ms", lote.size(), espera, e);
+                Thread.sleep(espera);
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_MS);
+            }
+        }
+    }
+
+    private List<StatusCadastro> importar(List<PedidoCadastro> lote) {
+        List<Jogador> jogadores = new ArrayList<>(lote.size());
+        for (PedidoCadastro pedido : lote) {
+            jogadores.add(pedido.novoJogador());
+        }
+        List<ResultadoImportacao> resultados = service.importar(jogadores);
+        List<StatusCadastro> situacoes = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            String ticket = lote.get(i).getTicket();
+            ResultadoImportacao resultado = resultados.get(i);
+            situacoes.add(resultado.getStatus() == ResultadoImportacao.Status.CRIADO
+                    ? StatusCadastro.criado(ticket, resultado.getId())
+                    : StatusCadastro.duplicado(ticket));
+        }
+        return situacoes;
+    }
+
+    // um cadastro síncrono concorrente venceu a corrida pelo codinome ou um pedido impede o lote inteiro;
+    // não lança exceção, então as linhas já gravadas aqui nunca voltam ao importar
+    private List<StatusCadastro> individualmente(List<PedidoCadastro> lote) {
+        List<StatusCadastro> situacoes = new ArrayList<>(lote.size());
+        for (PedidoCadastro pedido : lote) {
+            try {
+                situacoes.add(StatusCadastro.criado(pedido.getTicket(), service.save(pedido.novoJogador()).getId()));
+            } catch (BusinessException e) {
+                situacoes.add(StatusCadastro.duplicado(pedido.getTicket()));
+            } catch (DataIntegrityViolationException e) {
+                situacoes.add(StatusCadastro.erro(pedido.getTicket(), "Dados inválidos"));
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar o cadastro {}", pedido.getTicket(), e);
+                situacoes.add(StatusCadastro.erro(pedido.getTicket(), "Falha ao gravar o cadastro"));
+            }
+        }
+        return situacoes;
+    }
+
+    private void concluir(List<PedidoCadastro> lote, List<StatusCadastro> situacoes) {
+        List<String> tickets = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            PedidoCadastro pedido = lote.get(i);
+            status.put(pedido.getTicket(), situacoes.get(i));
+            reservados.remove(pedido.getJogador().getCodinome());
+            tickets.add(pedido.getTicket());
+        }
+        diario.concluir(tickets);
+    }
+}
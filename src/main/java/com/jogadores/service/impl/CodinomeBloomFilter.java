@@ -0,0 +1,81 @@
+package com.jogadores.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+public class CodinomeBloomFilter {
+
+    private static final int FUNCOES_HASH = 7;
+    private static final int BITS_POR_ELEMENTO = 10;
+
+    private final boolean habilitado;
+    private final AtomicLongArray palavras;
+    private final long totalBits;
+    private volatile boolean carregado;
+
+    public CodinomeBloomFilter(@Value("${jogadores.codinome.bloom.habilitado:false}") boolean habilitado,
+                               @Value("${jogadores.codinome.bloom.capacidade:1000000}") int capacidade) {
+        this.habilitado = habilitado;
+        int quantidadePalavras = habilitado ? Math.max(1, (int) ((long) capacidade * BITS_POR_ELEMENTO / Long.SIZE) + 1) : 1;
+        this.palavras = new AtomicLongArray(quantidadePalavras);
+        this.totalBits = (long) quantidadePalavras * Long.SIZE;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void marcarCarregado() {
+        this.carregado = true;
+    }
+
+    public boolean podeConter(String codinome) {
+        if (!carregado) {
+            return true;
+        }
+        long hash = hash(codinome);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= FUNCOES_HASH; i++) {
+            long bit = indice(h1 + i * h2);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void adicionar(String codinome) {
+        if (!habilitado || codinome == null) {
+            return;
+        }
+        long hash = hash(codinome);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= FUNCOES_HASH; i++) {
+            long bit = indice(h1 + i * h2);
+            long mascara = 1L << bit;
+            palavras.accumulateAndGet((int) (bit >>> 6), mascara, (atual, novo) -> atual | novo);
+        }
+    }
+
+    private long indice(int combinado) {
+        return (combinado & Integer.MAX_VALUE) % totalBits;
+    }
+
+    private static long hash(String codinome) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : codinome.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,149 @@
+package com.jogadores.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jogadores.model.Jogador;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class DiarioCadastros implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(DiarioCadastros.class);
+
+    private final Path arquivo;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+    private FileChannel canal;
+    private int pendentes;
+
+    DiarioCadastros(Path arquivo, boolean fsync, ObjectMapper objectMapper) {
+        this.arquivo = arquivo;
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+    }
+
+    // lê os pedidos sem conclusão, reescreve o arquivo só com eles e passa a acrescentar novas linhas
+    synchronized List<PedidoCadastro> abrir() throws IOException {
+        Map<String, PedidoCadastro> pedidos = new LinkedHashMap<>();
+        if (Files.exists(arquivo)) {
+            for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+                ler(linha, pedidos);
+            }
+        } else if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        List<String> linhas = new ArrayList<>(pedidos.size());
+        for (PedidoCadastro pedido : pedidos.values()) {
+            linhas.add(objectMapper.writeValueAsString(paraJson(pedido)));
+        }
+        Files.write(temporario, linhas, StandardCharsets.UTF_8);
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        canal = FileChannel.open(arquivo, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        pendentes = pedidos.size();
+        return new ArrayList<>(pedidos.values());
+    }
+
+    private void ler(String linha, Map<String, PedidoCadastro> pedidos) {
+        if (linha.trim().isEmpty()) {
+            return;
+        }
+        try {
+            JsonNode no = objectMapper.readTree(linha);
+            if (no.has("concluidos")) {
+                no.get("concluidos").forEach(ticket -> pedidos.remove(ticket.asText()));
+            } else {
+                PedidoCadastro pedido = deJson(no);
+                pedidos.put(pedido.getTicket(), pedido);
+            }
+        } catch (JsonProcessingException e) {
+            // linha incompleta de uma queda durante a escrita: o cliente não recebeu o 202
+            log.warn("Linha inválida ignorada no diário de cadastros {}", arquivo);
+        }
+    }
+
+    synchronized void registrar(PedidoCadastro pedido) {
+        escrever(paraJson(pedido));
+        pendentes++;
+    }
+
+    synchronized void concluir(Collection<String> tickets) {
+        ObjectNode no = objectMapper.createObjectNode();
+        ArrayNode concluidos = no.putArray("concluidos");
+        tickets.forEach(concluidos::add);
+        escrever(no);
+        pendentes -= tickets.size();
+        if (pendentes <= 0) {
+            pendentes = 0;
+            try {
+                canal.truncate(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void escrever(ObjectNode no) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap((objectMapper.writeValueAsString(no) + "\n").getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            if (fsync) {
+                canal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ObjectNode paraJson(PedidoCadastro pedido) {
+        Jogador jogador = pedido.getJogador();
+        ObjectNode no = objectMapper.createObjectNode();
+        no.put("ticket", pedido.getTicket());
+        no.put("nome", jogador.getNome());
+        no.put("email", jogador.getEmail());
+        no.put("telefone", jogador.getTelefone());
+        no.put("codinome", jogador.getCodinome());
+        no.put("grupo", jogador.getGrupo());
+        return no;
+    }
+
+    private PedidoCadastro deJson(JsonNode no) {
+        return new PedidoCadastro(no.get("ticket").asText(), Jogador.builder()
+                .nome(no.path("nome").textValue())
+                .email(no.path("email").textValue())
+                .telefone(no.path("telefone").textValue())
+                .codinome(no.path("codinome").textValue())
+                .grupo(no.path("grupo").textValue())
+                .build());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (canal != null) {
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.jogadores.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jogadores.exceptions.EventosExpiradosException;
+import com.jogadores.model.EventoJogador;
+import com.jogadores.model.Jogador;
+import com.jogadores.model.TipoEvento;
+import com.jogadores.repository.EventoJogadorRepository;
+import com.jogadores.service.EventosService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class EventosServiceImpl implements EventosService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventosServiceImpl.class);
+
+    private static final long INTERVALO_LIMPEZA_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final EventoJogadorRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transacao;
+    private final boolean habilitado;
+    private final int tamanhoLote;
+    private final long intervalo;
+    private final Duration retencao;
+    private final AtomicLong ultimaSequencia = new AtomicLong(-1);
+    private final Queue<Espera> esperas = new ConcurrentLinkedQueue<>();
+    private final ExecutorService entregas;
+    private volatile boolean ativo;
+    private Thread despachante;
+    private long sequenciaDespachada;
+
+    public EventosServiceImpl(EventoJogadorRepository repository, ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${jogadores.eventos.habilitado:false}") boolean habilitado,
+                              @Value("${jogadores.eventos.tamanho-lote:500}") int tamanhoLote,
+                              @Value("${jogadores.eventos.intervalo-ms:200}") long intervalo,
+                              @Value("${jogadores.eventos.retencao-horas:168}") long retencaoHoras,
+                              @Value("${jogadores.eventos.entregas:4}") int entregas) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.tamanhoLote = tamanhoLote;
+        this.intervalo = intervalo;
+        this.retencao = Duration.ofHours(retencaoHoras);
+        AtomicInteger contador = new AtomicInteger();
+        this.entregas = Executors.newFixedThreadPool(entregas, tarefa -> {
+            Thread thread = new Thread(tarefa, "eventos-entrega-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        ativo = true;
+        despachante = new Thread(this::despachar, "eventos-despachante");
+        despachante.setDaemon(true);
+        despachante.start();
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        entregas.shutdownNow();
+        if (despachante == null) {
+            return;
+        }
+        ativo = false;
+        despachante.interrupt();
+        despachante.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    @Override
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    // a linha do evento entra na mesma transação da gravação do jogador
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TipoEvento tipo, Jogador jogador) {
+        if (habilitado) {
+            repository.save(novoEvento(tipo, jogador));
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarTodos(TipoEvento tipo, Collection<Jogador> jogadores) {
+        if (!habilitado || jogadores.isEmpty()) {
+            return;
+        }
+        List<EventoJogador> eventos = new ArrayList<>(jogadores.size());
+        for (Jogador jogador : jogadores) {
+            eventos.add(novoEvento(tipo, jogador));
+        }
+        repository.saveAll(eventos);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarExclusoes(Collection<Long> ids) {
+        if (!habilitado || ids.isEmpty()) {
+            return;
+        }
+        Instant agora = Instant.now();
+        List<EventoJogador> eventos = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            eventos.add(EventoJogador.builder()
+                    .tipo(TipoEvento.EXCLUIDO)
+                    .jogadorId(id)
+                    .criadoEm(agora)
+                    .build());
+        }
+        repository.saveAll(eventos);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventoJogador> listar(long desde, int limite) {
+        Long primeira = repository.primeiraSequencia();
+        if (primeira != null && desde < primeira - 1) {
+            throw new EventosExpiradosException("Eventos posteriores à sequência " + desde + " já foram descartados");
+        }
+        return repository.findDesde(desde, PageRequest.of(0, limite));
+    }
+
+    // completa quando existir um evento com sequência maior que a informada
+    @Override
+    public CompletableFuture<Void> aguardar(long desde) {
+        if (ultimaSequencia.get() > desde) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Espera espera = new Espera(desde);
+        esperas.add(espera);
+        // sem eventos novos o despachante não passa pelas esperas; quem expira ou desconecta sai sozinho
+        espera.futuro.whenComplete((resultado, erro) -> esperas.remove(espera));
+        if (ultimaSequencia.get() > desde) {
+            liberar(espera);
+        }
+        return espera.futuro;
+    }
+
+    public int getEsperando() {
+        return esperas.size();
+    }
+
+    private void despachar() {
+        long proximaLimpeza = 0;
+        while (ativo) {
+            try {
+                Integer sequenciados = transacao.execute(status -> sequenciar());
+                notificar(sequenciaDespachada);
+                if (System.currentTimeMillis() >= proximaLimpeza) {
+                    limpar(sequenciaDespachada);
+                    proximaLimpeza = System.currentTimeMillis() + INTERVALO_LIMPEZA_MS;
+                }
+                if (sequenciados == null || sequenciados < tamanhoLote) {
+                    Thread.sleep(intervalo);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // outra instância pode ter numerado o mesmo lote; o próximo ciclo relê os pendentes
+                log.warn("Falha ao despachar eventos de jogadores", e);
+                try {
+                    Thread.sleep(intervalo);
+                } catch (InterruptedException interrompido) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // os pendentes ficam travados antes de ler a última sequência, para duas instâncias não numerarem o mesmo lote
+    private int sequenciar() {
+        List<EventoJogador> pendentes = repository.findPendentes(PageRequest.of(0, tamanhoLote));
+        long sequencia = repository.ultimaSequencia();
+        for (EventoJogador evento : pendentes) {
+            evento.setSequencia(++sequencia);
+        }
+        sequenciaDespachada = sequencia;
+        return pendentes.size();
+    }
+
+    private void limpar(long ultima) {
+        Integer excluidos = transacao.execute(status ->
+                repository.excluirAnteriores(ultima, Instant.now().minus(retencao)));
+        if (excluidos != null && excluidos > 0) {
+            log.info("{} eventos de jogadores descartados pela retenção", excluidos);
+        }
+    }
+
+    private void notificar(long sequencia) {
+        if (ultimaSequencia.getAndAccumulate(sequencia, Math::max) >= sequencia) {
+            return;
+        }
+        esperas.removeIf(espera -> {
+            if (espera.futuro.isDone()) {
+                return true;
+            }
+            if (espera.desde < sequencia) {
+                liberar(espera);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    // libera fora da thread do despachante: quem espera consulta o banco em seguida
+    private void liberar(Espera espera) {
+        esperas.remove(espera);
+        try {
+            entregas.execute(() -> espera.futuro.complete(null));
+        } catch (RejectedExecutionException e) {
+            espera.futuro.complete(null);
+        }
+    }
+
+    private EventoJogador novoEvento(TipoEvento tipo, Jogador jogador) {
+        ObjectNode dados = objectMapper.createObjectNode();
+        dados.put("id", jogador.getId());
+        dados.put("nome", jogador.getNome());
+        dados.put("email", jogador.getEmail());
+        dados.put("telefone", jogador.getTelefone());
+        dados.put("codinome", jogador.getCodinome());
+        dados.put("grupo", jogador.getGrupo());
+        dados.put("versao", jogador.getVersao());
+        try {
+            return EventoJogador.builder()
+                    .tipo(tipo)
+                    .jogadorId(jogador.getId())
+                    .versao(jogador.getVersao())
+                    .dados(objectMapper.writeValueAsString(dados))
+                    .criadoEm(Instant.now())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Espera {
+
+        private final long desde;
+        private final CompletableFuture<Void> futuro = new CompletableFuture<>();
+
+        Espera(long desde) {
+            this.desde = desde;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.jogadores.service.impl;
+
+import com.jogadores.model.TextoBusca;
+import com.jogadores.service.ResumoGrupo;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class IndiceGrupos {
+
+    private final ConcurrentMap<String, Grupo> grupos = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, String> grupoPorId = new ConcurrentHashMap<>();
+    private final Set<Long> gravadosNaCarga = ConcurrentHashMap.newKeySet();
+    private volatile boolean carregado;
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    // gravações e exclusões confirmadas durante a carga prevalecem sobre a leitura inicial
+    public void carregar(Long id, String grupo) {
+        if (id == null || grupo == null) {
+            return;
+        }
+        grupoPorId.compute(id, (chave, atual) -> {
+            if (atual != null || gravadosNaCarga.contains(id)) {
+                return atual;
+            }
+            grupo(grupo).adicionar(id);
+            return grupo;
+        });
+    }
+
+    public void marcarCarregado() {
+        this.carregado = true;
+        gravadosNaCarga.clear();
+    }
+
+    public void mover(Long id, String grupo) {
+        aposCommit(() -> {
+            marcarGravado(id);
+            grupoPorId.compute(id, (chave, anterior) -> {
+                if (anterior != null) {
+                    grupo(anterior).remover(id);
+                }
+                if (grupo == null) {
+                    return null;
+                }
+                grupo(grupo).adicionar(id);
+                return grupo;
+            });
+        });
+    }
+
+    public void remover(Collection<Long> ids) {
+        aposCommit(() -> ids.forEach(id -> {
+            marcarGravado(id);
+            grupoPorId.computeIfPresent(id, (chave, anterior) -> {
+                grupo(anterior).remover(id);
+                return null;
+            });
+        }));
+    }
+
+    private void marcarGravado(Long id) {
+        if (!carregado) {
+            gravadosNaCarga.add(id);
+        }
+    }
+
+    public List<ResumoGrupo> resumos() {
+        List<ResumoGrupo> resumos = new ArrayList<>(grupos.size());
+        for (Grupo grupo : grupos.values()) {
+            int total = grupo.total.get();
+            if (total > 0) {
+                resumos.add(new ResumoGrupo(grupo.nome, total));
+            }
+        }
+        resumos.sort(Comparator.comparingInt(ResumoGrupo::getTotal).reversed().thenComparing(ResumoGrupo::getGrupo));
+        return resumos;
+    }
+
+    public int total(String grupo) {
+        Grupo encontrado = grupos.get(chave(grupo));
+        return encontrado == null ? 0 : encontrado.total.get();
+    }
+
+    public List<Long> ids(String grupo, long inicio, int quantidade) {
+        Grupo encontrado = grupos.get(chave(grupo));
+        if (encontrado == null) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = new ArrayList<>(quantidade);
+        Iterator<Long> iterator = encontrado.ids.iterator();
+        for (long i = 0; i < inicio && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        while (ids.size() < quantidade && iterator.hasNext()) {
+            ids.add(iterator.next());
+        }
+        return ids;
+    }
+
+    private Grupo grupo(String nome) {
+        return grupos.computeIfAbsent(chave(nome), chave -> new Grupo(nome.trim()));
+    }
+
+    private String chave(String grupo) {
+        return TextoBusca.normalizar(grupo);
+    }
+
+    private void aposCommit(Runnable alteracao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    alteracao.run();
+                }
+            });
+        } else {
+            alteracao.run();
+        }
+    }
+
+    private static class Grupo {
+
+        private final String nome;
+        private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+        private final AtomicInteger total = new AtomicInteger();
+
+        Grupo(String nome) {
+            this.nome = nome;
+        }
+
+        void adicionar(Long id) {
+            if (ids.add(id)) {
+                total.incrementAndGet();
+            }
+        }
+
+        void remover(Long id) {
+            if (ids.remove(id)) {
+                total.decrementAndGet();
+            }
+        }
+    }
+}
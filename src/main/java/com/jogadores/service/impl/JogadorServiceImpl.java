@@ -1,65 +1,648 @@
 package com.jogadores.service.impl;
 
+import com.jogadores.config.CacheConfig;
+import com.jogadores.config.RoteamentoDataSource;
 import com.jogadores.exceptions.BusinessException;
 import com.jogadores.model.Jogador;
+import com.jogadores.model.TextoBusca;
+import com.jogadores.model.TipoBusca;
+import com.jogadores.model.TipoEvento;
+import com.jogadores.repository.JogadorGrupo;
 import com.jogadores.repository.JogadorRepository;
+import com.jogadores.repository.JogadorSpecifications;
+import com.jogadores.service.Cursor;
+import com.jogadores.service.CursorPage;
+import com.jogadores.service.EventosService;
 import com.jogadores.service.JogadorService;
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
+import com.jogadores.service.Resultado;
+import com.jogadores.service.ResultadoImportacao;
+import com.jogadores.service.ResultadoPorIds;
+import com.jogadores.service.ResumoGrupo;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class JogadorServiceImpl implements JogadorService {
 
+    private static final Logger log = LoggerFactory.getLogger(JogadorServiceImpl.class);
+
+    static final String METRICA = "jogadores.service";
+
+    private static final int TAMANHO_MAXIMO_CURSOR = 1000;
+    private static final int TAMANHO_LOTE_IDS = 1000;
+    private static final Resultado<Jogador> CODINOME_EM_USO = Resultado.falha(BusinessException.CODINOME_JA_CADASTRADO.getMessage());
+    private static final BusinessException CAMPOS_VAZIOS = new BusinessException("Os campos informados não podem ser vazios");
+    private static final BusinessException SEM_CAMPOS = new BusinessException("Nenhum campo informado para atualização");
+    private static final List<String> CAMPOS = Arrays.asList("id", "nome", "email", "telefone", "codinome", "grupo", "versao");
+
     private JogadorRepository repository;
+    private CodinomeBloomFilter codinomes;
+    private VersoesJogadores versoes;
+    private IndiceGrupos grupos;
+    private JogadoresEmMemoria memoria;
+    private EventosService eventos;
+    private Cache consultas;
 
-    public JogadorServiceImpl(JogadorRepository repository) {
+    public JogadorServiceImpl(JogadorRepository repository, CodinomeBloomFilter codinomes, VersoesJogadores versoes,
+                              IndiceGrupos grupos, JogadoresEmMemoria memoria, EventosService eventos,
+                              CacheManager cacheManager) {
         this.repository = repository;
+        this.codinomes = codinomes;
+        this.versoes = versoes;
+        this.grupos = grupos;
+        this.memoria = memoria;
+        this.eventos = eventos;
+        this.consultas = cacheManager.getCache(CacheConfig.CONSULTAS);
+    }
+
+    // jogadores gravados antes da coluna versao chegam com ela nula e não entrariam no controle otimista
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void preencherVersoes() {
+        int preenchidos = repository.preencherVersoes();
+        if (preenchidos > 0) {
+            log.info("Versão preenchida em {} jogadores", preenchidos);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarCodinomes() {
+        if (!codinomes.isHabilitado()) {
+            return;
+        }
+        try (RoteamentoDataSource.Primario primario = RoteamentoDataSource.noPrimario();
+             Stream<String> existentes = repository.streamCodinomes()) {
+            existentes.forEach(codinomes::adicionar);
+        }
+        codinomes.marcarCarregado();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarGrupos() {
+        try (RoteamentoDataSource.Primario primario = RoteamentoDataSource.noPrimario();
+             Stream<JogadorGrupo> existentes = repository.streamGrupos()) {
+            existentes.forEach(jogador -> grupos.carregar(jogador.getId(), jogador.getGrupo()));
+        }
+        grupos.marcarCarregado();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarMemoria() throws IOException {
+        if (!memoria.isHabilitado()) {
+            return;
+        }
+        try (RoteamentoDataSource.Primario primario = RoteamentoDataSource.noPrimario()) {
+            Object[] resumo = repository.resumirVersoes().get(0);
+            if (!memoria.restaurar(((Number) resumo[0]).longValue(), ((Number) resumo[1]).longValue())) {
+                repository.percorrer(null, TipoBusca.CONTEM, memoria::carregar);
+            }
+        }
+        memoria.concluirCarga();
     }
 
     @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "save"})
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.JOGADORES, key = "#result.id")
+    @CacheEvict(cacheNames = CacheConfig.CONSULTAS, allEntries = true)
     public Jogador save(Jogador jogador) {
-        if (repository.existsByCodinome(jogador.getCodinome())){
-            throw new BusinessException("Codinome já cadastrado");
+        return valorOuErro(gravar(jogador));
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "cadastrar"})
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CONSULTAS, allEntries = true, condition = "#result.sucesso")
+    public Resultado<Jogador> cadastrar(Jogador jogador) {
+        return gravar(jogador);
+    }
+
+    // o codinome repetido volta como resultado, mesmo quando só o índice único o detecta; a transação é desfeita
+    private Resultado<Jogador> gravar(Jogador jogador) {
+        if (codinomeEmUso(jogador.getCodinome(), null)) {
+            return CODINOME_EM_USO;
+        }
+        try {
+            Jogador salvo = repository.saveAndFlush(jogador);
+            codinomes.adicionar(salvo.getCodinome());
+            versoes.invalidar(salvo.getId());
+            grupos.mover(salvo.getId(), salvo.getGrupo());
+            memoria.gravar(salvo);
+            eventos.registrar(TipoEvento.CRIADO, salvo);
+            return Resultado.sucesso(salvo);
+        } catch (DataIntegrityViolationException e) {
+            return codinomeRecusado(e);
         }
-        return repository.save(jogador);
+    }
+
+    // sem o filtro de bloom a gravação vai direto ao banco, em uma ida só, e o índice único recusa o codinome repetido
+    private boolean codinomeEmUso(String codinome, Long id) {
+        if (codinome == null || !codinomes.isHabilitado() || !codinomes.podeConter(codinome)) {
+            return false;
+        }
+        return id == null ? repository.existsByCodinome(codinome) : repository.existsByCodinomeAndIdNot(codinome, id);
+    }
+
+    private static Jogador valorOuErro(Resultado<Jogador> resultado) {
+        if (!resultado.isSucesso()) {
+            throw BusinessException.CODINOME_JA_CADASTRADO;
+        }
+        return resultado.getValor();
+    }
+
+    private Resultado<Jogador> codinomeRecusado(DataIntegrityViolationException e) {
+        if (!violouCodinomeUnico(e)) {
+            throw e;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+        return CODINOME_EM_USO;
+    }
+
+    private boolean violouCodinomeUnico(DataIntegrityViolationException e) {
+        String mensagem = e.getMostSpecificCause().getMessage();
+        return mensagem != null && mensagem.toLowerCase(Locale.ROOT).contains(Jogador.UK_CODINOME);
     }
 
     @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "importar"})
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CONSULTAS, allEntries = true)
+    public List<ResultadoImportacao> importar(List<Jogador> jogadores) {
+        Set<String> codinomesLote = new HashSet<>(jogadores.size() * 2);
+        for (Jogador jogador : jogadores) {
+            codinomesLote.add(jogador.getCodinome());
+        }
+        Set<String> utilizados = new HashSet<>(repository.findCodinomesExistentes(codinomesLote));
+
+        boolean[] novo = new boolean[jogadores.size()];
+        List<Jogador> novos = new ArrayList<>(jogadores.size());
+        for (int i = 0; i < jogadores.size(); i++) {
+            Jogador jogador = jogadores.get(i);
+            if (utilizados.add(jogador.getCodinome())) {
+                novo[i] = true;
+                novos.add(jogador);
+            }
+        }
+        repository.saveAll(novos);
+        novos.forEach(salvo -> codinomes.adicionar(salvo.getCodinome()));
+        if (!novos.isEmpty()) {
+            versoes.invalidarTodos();
+        }
+        novos.forEach(salvo -> grupos.mover(salvo.getId(), salvo.getGrupo()));
+        novos.forEach(memoria::gravar);
+        eventos.registrarTodos(TipoEvento.CRIADO, novos);
+
+        List<ResultadoImportacao> resultados = new ArrayList<>(jogadores.size());
+        for (int i = 0; i < jogadores.size(); i++) {
+            resultados.add(novo[i]
+                    ? ResultadoImportacao.criado(i, jogadores.get(i).getId())
+                    : ResultadoImportacao.duplicado(i));
+        }
+        return resultados;
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "getById"})
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.JOGADORES, key = "#id", unless = "#result == null")
     public Optional<Jogador> getById(Long id) {
-        return this.repository.findById(id);
+        long colecao = versoes.colecao();
+        Optional<Jogador> jogador;
+        // o resultado vai para o cache e para as versões conhecidas do ETag
+        try (RoteamentoDataSource.Primario primario = RoteamentoDataSource.noPrimario()) {
+            jogador = memoria.isAtivo() ? memoria.obter(id) : this.repository.findById(id);
+        }
+        jogador.ifPresent(encontrado -> versoes.registrar(id, encontrado.getVersao(), colecao));
+        return jogador;
+    }
+
+    @Override
+    public Long versaoConhecida(Long id) {
+        return versoes.versao(id);
+    }
+
+    @Override
+    public long versaoColecao() {
+        return versoes.colecao();
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "getByIds"})
+    @Transactional(readOnly = true)
+    public ResultadoPorIds<Jogador> getByIds(Collection<Long> ids) {
+        List<Long> lista = idsDistintos(ids);
+        Map<Long, Jogador> encontrados = new HashMap<>(lista.size() * 2);
+        if (memoria.isAtivo()) {
+            lista.forEach(id -> memoria.obter(id).ifPresent(jogador -> encontrados.put(id, jogador)));
+        } else {
+            for (int inicio = 0; inicio < lista.size(); inicio += TAMANHO_LOTE_IDS) {
+                for (Jogador jogador : repository.findAllById(lista.subList(inicio, Math.min(inicio + TAMANHO_LOTE_IDS, lista.size())))) {
+                    encontrados.put(jogador.getId(), jogador);
+                }
+            }
+        }
+
+        List<Jogador> jogadores = new ArrayList<>(encontrados.size());
+        List<Long> naoEncontrados = new ArrayList<>(lista.size() - encontrados.size());
+        for (Long id : lista) {
+            Jogador jogador = encontrados.get(id);
+            if (jogador != null) {
+                jogadores.add(jogador);
+            } else {
+                naoEncontrados.add(id);
+            }
+        }
+        return new ResultadoPorIds<>(jogadores, naoEncontrados);
+    }
+
+    private List<Long> idsDistintos(Collection<Long> ids) {
+        Set<Long> distintos = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) {
+                    distintos.add(id);
+                }
+            }
+        }
+        if (distintos.isEmpty()) {
+            throw new BusinessException("Informe ao menos um ID");
+        }
+        return new ArrayList<>(distintos);
     }
 
     @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "deleteJogador"})
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.JOGADORES, key = "#jogador.id", condition = "#jogador != null && #jogador.id != null"),
+            @CacheEvict(cacheNames = CacheConfig.CONSULTAS, allEntries = true)})
     public void deleteJogador(Jogador jogador) {
         if (jogador == null || jogador.getId() == null){
             throw new IllegalArgumentException("O ID do jogador não pode ser nulo.");
         }
 
         this.repository.delete(jogador);
+        versoes.invalidar(jogador.getId());
+        grupos.remover(Collections.singletonList(jogador.getId()));
+        memoria.remover(Collections.singletonList(jogador.getId()));
+        eventos.registrarExclusoes(Collections.singletonList(jogador.getId()));
     }
 
     @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "deleteById"})
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.JOGADORES, key = "#id", condition = "#id != null"),
+            @CacheEvict(cacheNames = CacheConfig.CONSULTAS, allEntries = true)})
+    public boolean deleteById(Long id) {
+        if (id == null){
+            throw new IllegalArgumentException("O ID do jogador não pode ser nulo.");
+        }
+        versoes.invalidar(id);
+        grupos.remover(Collections.singletonList(id));
+        memoria.remover(Collections.singletonList(id));
+        boolean excluido = repository.excluirPorId(id) > 0;
+        if (excluido) {
+            eventos.registrarExclusoes(Collections.singletonList(id));
+        }
+        return excluido;
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "deleteByIds"})
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.JOGADORES, CacheConfig.CONSULTAS}, allEntries = true)
+    public int deleteByIds(Collection<Long> ids) {
+        List<Long> lista = idsDistintos(ids);
+        versoes.invalidarTodos();
+        grupos.remover(lista);
+        memoria.remover(lista);
+        int excluidos = 0;
+        for (int inicio = 0; inicio < lista.size(); inicio += TAMANHO_LOTE_IDS) {
+            List<Long> parte = lista.subList(inicio, Math.min(inicio + TAMANHO_LOTE_IDS, lista.size()));
+            if (eventos.isHabilitado()) {
+                eventos.registrarExclusoes(repository.findIdsExistentes(parte));
+            }
+            excluidos += repository.excluirPorIds(parte);
+        }
+        return excluidos;
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "deleteJogadores"})
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.JOGADORES, CacheConfig.CONSULTAS}, allEntries = true)
+    public int deleteJogadores(Jogador filter, TipoBusca tipoBusca) {
+        if (JogadorSpecifications.vazio(filter)) {
+            throw new BusinessException("Informe ao menos um filtro para excluir jogadores");
+        }
+        versoes.invalidarTodos();
+        // cada lote de ids é lido com trava e excluído por id: o que entrar depois da leitura não é apagado
+        // sem passar pelo índice de grupos, pelo modelo em memória e pelos eventos
+        int excluidos = 0;
+        Long aposId = null;
+        List<Long> lote;
+        do {
+            lote = repository.travarIdsAposId(filter, tipoBusca, aposId, TAMANHO_LOTE_IDS);
+            if (lote.isEmpty()) {
+                break;
+            }
+            grupos.remover(lote);
+            memoria.remover(lote);
+            eventos.registrarExclusoes(lote);
+            excluidos += repository.excluirPorIds(lote);
+            aposId = lote.get(lote.size() - 1);
+        } while (lote.size() == TAMANHO_LOTE_IDS);
+        return excluidos;
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "updateJogador"})
+    @Caching(
+            evict = {
+                    @CacheEvict(cacheNames = CacheConfig.JOGADORES, key = "#jogador.id",
+                            condition = "#jogador != null && #jogador.id != null", beforeInvocation = true),
+                    @CacheEvict(cacheNames = CacheConfig.CONSULTAS, allEntries = true)},
+            put = @CachePut(cacheNames = CacheConfig.JOGADORES, key = "#result.id"))
+    @Transactional
     public Jogador updateJogador(Jogador jogador) {
+        return valorOuErro(regravar(jogador));
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "atualizar"})
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.JOGADORES, key = "#jogador.id",
+                    condition = "#jogador != null && #jogador.id != null", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheConfig.CONSULTAS, allEntries = true, condition = "#result.sucesso")})
+    @Transactional
+    public Resultado<Jogador> atualizar(Jogador jogador) {
+        return regravar(jogador);
+    }
+
+    private Resultado<Jogador> regravar(Jogador jogador) {
         if (jogador == null || jogador.getId() == null){
             throw new IllegalArgumentException("O ID do jogador não pode ser nulo.");
         }
+        if (codinomeEmUso(jogador.getCodinome(), jogador.getId())) {
+            return CODINOME_EM_USO;
+        }
+
+        Jogador salvo;
+        try {
+            salvo = this.repository.save(jogador);
+            // a versão nova só é atribuída no flush e vai no evento
+            this.repository.flush();
+        } catch (DataIntegrityViolationException e) {
+            return codinomeRecusado(e);
+        }
+        codinomes.adicionar(salvo.getCodinome());
+        versoes.invalidar(salvo.getId());
+        grupos.mover(salvo.getId(), salvo.getGrupo());
+        memoria.gravar(salvo);
+        eventos.registrar(TipoEvento.ATUALIZADO, salvo);
+        return Resultado.sucesso(salvo);
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "atualizarParcial"})
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.JOGADORES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CONSULTAS, allEntries = true)})
+    public boolean atualizarParcial(Long id, Long versao, Jogador alteracoes) {
+        if (id == null){
+            throw new IllegalArgumentException("O ID do jogador não pode ser nulo.");
+        }
+        validarAlteracoes(alteracoes);
 
-        return this.repository.save(jogador);
+        versoes.invalidar(id);
+        int atualizados;
+        try {
+            atualizados = repository.atualizarParcial(id, versao, alteracoes);
+        } catch (DataIntegrityViolationException e) {
+            if (violouCodinomeUnico(e)) {
+                throw BusinessException.CODINOME_JA_CADASTRADO;
+            }
+            throw e;
+        }
+        if (atualizados > 0 && alteracoes.getGrupo() != null) {
+            grupos.mover(id, alteracoes.getGrupo());
+        }
+        // sem o novo codinome no filtro, um cadastro posterior com ele pularia a consulta ao banco
+        if (atualizados > 0 && alteracoes.getCodinome() != null) {
+            codinomes.adicionar(alteracoes.getCodinome());
+        }
+        if (atualizados > 0) {
+            memoria.alterar(id, alteracoes);
+            if (eventos.isHabilitado()) {
+                repository.findById(id).ifPresent(atualizado -> eventos.registrar(TipoEvento.ATUALIZADO, atualizado));
+            }
+        }
+        if (atualizados == 0 && versao != null && repository.existsById(id)) {
+            throw new ObjectOptimisticLockingFailureException(Jogador.class, id);
+        }
+        return atualizados > 0;
+    }
+
+    private void validarAlteracoes(Jogador alteracoes) {
+        String[] valores = {alteracoes.getNome(), alteracoes.getEmail(), alteracoes.getTelefone(),
+                alteracoes.getCodinome(), alteracoes.getGrupo()};
+        boolean algumCampo = false;
+        for (String valor : valores) {
+            if (valor != null) {
+                if (valor.trim().isEmpty()) {
+                    throw CAMPOS_VAZIOS;
+                }
+                algumCampo = true;
+            }
+        }
+        if (!algumCampo) {
+            throw SEM_CAMPOS;
+        }
     }
 
     @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "findJogador"})
+    @Transactional(readOnly = true)
     public Page<Jogador> findJogador(Jogador filter, Pageable pageRequest) {
-        Example<Jogador> example = Example.of(filter,
-                ExampleMatcher
-                        .matching()
-                        .withIgnoreCase()
-                        .withIgnoreNullValues()
-                        .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING));
-        return repository.findAll(example, pageRequest);
+        return findJogador(filter, TipoBusca.CONTEM, pageRequest);
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "findJogador"})
+    @Transactional(readOnly = true)
+    public Page<Jogador> findJogador(Jogador filter, TipoBusca tipoBusca, Pageable pageRequest) {
+        return repository.findAll(JogadorSpecifications.filtro(filter, tipoBusca), pageRequest);
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "findCampos"})
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findCampos(Jogador filter, TipoBusca tipoBusca, List<String> campos, Pageable pageRequest) {
+        Set<String> selecionados = new LinkedHashSet<>(campos.size() * 2);
+        for (String campo : campos) {
+            String nome = campo.trim();
+            if (nome.isEmpty()) {
+                continue;
+            }
+            if (!CAMPOS.contains(nome)) {
+                throw new BusinessException("Campo inválido: " + nome);
+            }
+            selecionados.add(nome);
+        }
+        if (selecionados.isEmpty()) {
+            throw new BusinessException("Informe ao menos um campo");
+        }
+        for (Sort.Order ordem : pageRequest.getSort()) {
+            if (!CAMPOS.contains(ordem.getProperty())) {
+                throw new BusinessException("Campo de ordenação inválido: " + ordem.getProperty());
+            }
+        }
+        return repository.findCampos(filter, tipoBusca, new ArrayList<>(selecionados), pageRequest);
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "findJogadorCursor"})
+    @Transactional(readOnly = true)
+    public CursorPage<Jogador> findJogador(Jogador filter, TipoBusca tipoBusca, String cursor, int size, boolean total) {
+        if (size < 1 || size > TAMANHO_MAXIMO_CURSOR) {
+            throw new BusinessException("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_CURSOR);
+        }
+        Long aposId = Cursor.decode(cursor);
+        List<Jogador> jogadores = repository.findAposId(filter, tipoBusca, aposId, size + 1);
+
+        String proximoCursor = null;
+        if (jogadores.size() > size) {
+            jogadores = jogadores.subList(0, size);
+            proximoCursor = Cursor.encode(jogadores.get(size - 1).getId());
+        }
+        Long totalElements = total ? repository.count(JogadorSpecifications.filtro(filter, tipoBusca)) : null;
+        return new CursorPage<>(jogadores, size, proximoCursor, totalElements);
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "getGrupos"})
+    public List<ResumoGrupo> getGrupos() {
+        if (grupos.isCarregado()) {
+            return grupos.resumos();
+        }
+        List<ResumoGrupo> resumos = new ArrayList<>();
+        for (Object[] linha : repository.contarPorGrupo()) {
+            resumos.add(new ResumoGrupo((String) linha[0], ((Number) linha[1]).intValue()));
+        }
+        resumos.sort(Comparator.comparingInt(ResumoGrupo::getTotal).reversed().thenComparing(ResumoGrupo::getGrupo));
+        return resumos;
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "findJogadoresDoGrupo"})
+    @Transactional(readOnly = true)
+    public Page<Jogador> findJogadoresDoGrupo(String grupo, Pageable pageRequest) {
+        if (!grupos.isCarregado()) {
+            return findJogador(Jogador.builder().grupo(grupo).build(), TipoBusca.EXATO,
+                    PageRequest.of(pageRequest.getPageNumber(), pageRequest.getPageSize(), Sort.by("id")));
+        }
+        List<Long> ids = grupos.ids(grupo, pageRequest.getOffset(), pageRequest.getPageSize());
+        List<Jogador> jogadores = ids.isEmpty() ? Collections.emptyList() : getByIds(ids).getContent();
+        return new PageImpl<>(jogadores, pageRequest, grupos.total(grupo));
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "findPorCodinome"})
+    @Transactional(readOnly = true)
+    public List<Jogador> findPorCodinome(String codinome) {
+        String chave = chaveConsulta(codinome, "Informe o codinome");
+        return copias(consultas.get("codinome:" + chave, () -> {
+            try (RoteamentoDataSource.Primario primario = RoteamentoDataSource.noPrimario()) {
+                return registros(repository.findByCodinomeNormalizadoOrderById(chave));
+            }
+        }));
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "findPorEmail"})
+    @Transactional(readOnly = true)
+    public List<Jogador> findPorEmail(String email) {
+        String chave = chaveConsulta(email, "Informe o email");
+        return copias(consultas.get("email:" + chave, () -> {
+            try (RoteamentoDataSource.Primario primario = RoteamentoDataSource.noPrimario()) {
+                return registros(repository.findByEmailNormalizadoOrderById(chave));
+            }
+        }));
+    }
+
+    // a busca exata compara a coluna normalizada, a mesma forma gravada no @PrePersist
+    private static String chaveConsulta(String valor, String mensagem) {
+        String chave = TextoBusca.normalizar(valor);
+        if (chave == null || chave.isEmpty()) {
+            throw new BusinessException(mensagem);
+        }
+        return chave;
+    }
+
+    // o cache guarda registros imutáveis; cada chamada recebe jogadores novos, livres para serem alterados
+    private static List<RegistroJogador> registros(List<Jogador> jogadores) {
+        List<RegistroJogador> registros = new ArrayList<>(jogadores.size());
+        jogadores.forEach(jogador -> registros.add(RegistroJogador.de(jogador)));
+        return Collections.unmodifiableList(registros);
+    }
+
+    private static List<Jogador> copias(List<RegistroJogador> registros) {
+        List<Jogador> jogadores = new ArrayList<>(registros.size());
+        registros.forEach(registro -> jogadores.add(registro.paraJogador()));
+        return jogadores;
+    }
+
+    @Override
+    @Timed(value = METRICA, extraTags = {"operacao", "exportar"})
+    @Transactional(readOnly = true)
+    public void exportar(Jogador filter, TipoBusca tipoBusca, Consumer<Jogador> consumidor) {
+        repository.percorrer(filter, tipoBusca, consumidor);
     }
 }
@@ -0,0 +1,225 @@
+package com.jogadores.service.impl;
+
+import com.jogadores.model.Jogador;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class JogadoresEmMemoria {
+
+    private static final Logger log = LoggerFactory.getLogger(JogadoresEmMemoria.class);
+
+    private final boolean habilitado;
+    private final int capacidade;
+    private final int compactarApos;
+    private final TabelaJogadores tabela;
+    private final ArquivoJogadores arquivo;
+    private final Set<Long> gravadosNaCarga = ConcurrentHashMap.newKeySet();
+    private final Object compactacao = new Object();
+    private final AtomicBoolean compactacaoAgendada = new AtomicBoolean();
+    private final ExecutorService compactador;
+    private boolean carregando = true;
+    private volatile boolean ativo;
+
+    public JogadoresEmMemoria(@Value("${jogadores.memoria.habilitado:false}") boolean habilitado,
+                              @Value("${jogadores.memoria.pasta:data/memoria}") String pasta,
+                              @Value("${jogadores.memoria.capacidade-inicial:100000}") int capacidade,
+                              @Value("${jogadores.memoria.compactar-apos:100000}") int compactarApos,
+                              @Value("${jogadores.memoria.fsync:false}") boolean fsync) {
+        this.habilitado = habilitado;
+        this.capacidade = capacidade;
+        this.compactarApos = compactarApos;
+        this.tabela = new TabelaJogadores(habilitado ? capacidade : 0);
+        this.arquivo = new ArquivoJogadores(Paths.get(pasta), fsync);
+        this.compactador = Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "memoria-compactacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    // só responde leituras depois de carregado; antes disso elas vão ao banco
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    public Optional<Jogador> obter(Long id) {
+        RegistroJogador registro = id == null ? null : tabela.obter(id);
+        return registro == null ? Optional.empty() : Optional.of(registro.paraJogador());
+    }
+
+    // a fotografia mais os diários só valem se baterem com a contagem e a soma de versões do banco
+    public synchronized boolean restaurar(long quantidade, long somaVersoes) throws IOException {
+        TabelaJogadores lida = new TabelaJogadores(capacidade);
+        if (!arquivo.restaurar(lida::colocar, lida::remover)) {
+            log.info("Sem fotografia do modelo em memória; carregando os jogadores do banco");
+            return false;
+        }
+        if (lida.tamanho() != quantidade || lida.somaVersoes() != somaVersoes) {
+            log.warn("Fotografia do modelo em memória diverge do banco ({} jogadores, soma de versões {}; banco {} e {}); "
+                    + "carregando os jogadores do banco", lida.tamanho(), lida.somaVersoes(), quantidade, somaVersoes);
+            return false;
+        }
+        for (RegistroJogador registro : lida.copiar()) {
+            carregar(registro);
+        }
+        return true;
+    }
+
+    public synchronized void carregar(Jogador jogador) {
+        carregar(RegistroJogador.de(jogador));
+    }
+
+    public void concluirCarga() throws IOException {
+        synchronized (this) {
+            carregando = false;
+            gravadosNaCarga.clear();
+        }
+        ativo = true;
+        compactar();
+        log.info("Modelo em memória carregado com {} jogadores", tabela.tamanho());
+    }
+
+    public void gravar(Jogador jogador) {
+        if (habilitado) {
+            aposCommit(() -> aplicar(RegistroJogador.de(jogador)));
+        }
+    }
+
+    public void alterar(Long id, Jogador alteracoes) {
+        if (habilitado) {
+            aposCommit(() -> {
+                synchronized (this) {
+                    RegistroJogador atual = tabela.obter(id);
+                    if (atual != null) {
+                        aplicar(atual.alterado(alteracoes));
+                    }
+                }
+            });
+        }
+    }
+
+    public void remover(Collection<Long> ids) {
+        if (habilitado) {
+            aposCommit(() -> {
+                synchronized (this) {
+                    for (Long id : ids) {
+                        marcarGravado(id);
+                        tabela.remover(id);
+                        registrar(() -> arquivo.remover(id));
+                    }
+                }
+                agendarCompactacao();
+            });
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() throws IOException, InterruptedException {
+        if (!habilitado) {
+            return;
+        }
+        compactador.shutdown();
+        compactador.awaitTermination(1, TimeUnit.MINUTES);
+        if (ativo) {
+            compactar();
+        }
+        arquivo.close();
+    }
+
+    void compactar() throws IOException {
+        synchronized (compactacao) {
+            RegistroJogador[] registros;
+            long geracao;
+            synchronized (this) {
+                registros = tabela.copiar();
+                geracao = arquivo.iniciarGeracao();
+            }
+            arquivo.escreverFotografia(geracao, registros);
+        }
+    }
+
+    // gravações confirmadas durante a carga já estão na tabela e prevalecem sobre o que for lido depois
+    private void carregar(RegistroJogador registro) {
+        if (!carregando || !gravadosNaCarga.contains(registro.getId())) {
+            tabela.colocar(registro);
+        }
+    }
+
+    private synchronized void aplicar(RegistroJogador registro) {
+        marcarGravado(registro.getId());
+        tabela.colocar(registro);
+        registrar(() -> arquivo.gravar(registro));
+        agendarCompactacao();
+    }
+
+    private void marcarGravado(long id) {
+        if (carregando) {
+            gravadosNaCarga.add(id);
+        }
+    }
+
+    // a gravação no banco já foi confirmada: uma falha no diário não pode virar erro para o cliente
+    private void registrar(Runnable escrita) {
+        try {
+            escrita.run();
+        } catch (UncheckedIOException e) {
+            log.warn("Falha ao registrar gravação no diário do modelo em memória", e);
+        }
+    }
+
+    private void agendarCompactacao() {
+        if (ativo && arquivo.getRegistrosNoDiario() >= compactarApos
+                && compactacaoAgendada.compareAndSet(false, true)) {
+            try {
+                compactador.execute(() -> {
+                    try {
+                        compactar();
+                    } catch (IOException | UncheckedIOException e) {
+                        log.warn("Falha ao gravar a fotografia do modelo em memória", e);
+                    } finally {
+                        compactacaoAgendada.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // encerrando: a fotografia final é gravada no @PreDestroy
+                compactacaoAgendada.set(false);
+            }
+        }
+    }
+
+    private void aposCommit(Runnable alteracao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    alteracao.run();
+                }
+            });
+        } else {
+            alteracao.run();
+        }
+    }
+}
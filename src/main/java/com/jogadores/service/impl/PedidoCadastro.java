@@ -0,0 +1,25 @@
+package com.jogadores.service.impl;
+
+import com.jogadores.model.Jogador;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+class PedidoCadastro {
+
+    private String ticket;
+
+    private Jogador jogador;
+
+    // uma entidade nova a cada tentativa: uma transação desfeita deixa o id gerado na instância anterior
+    Jogador novoJogador() {
+        return Jogador.builder()
+                .nome(jogador.getNome())
+                .email(jogador.getEmail())
+                .telefone(jogador.getTelefone())
+                .codinome(jogador.getCodinome())
+                .grupo(jogador.getGrupo())
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.jogadores.service.impl;
+
+import com.jogadores.model.Jogador;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// jogador imutável com os textos em um único array UTF-8, cada um prefixado pelo tamanho
+final class RegistroJogador {
+
+    private static final int NULO = 0xFFFF;
+    private static final long SEM_VERSAO = -1;
+
+    private final long id;
+    private final long versao;
+    private final byte[] campos;
+
+    private RegistroJogador(long id, long versao, byte[] campos) {
+        this.id = id;
+        this.versao = versao;
+        this.campos = campos;
+    }
+
+    static RegistroJogador de(Jogador jogador) {
+        return new RegistroJogador(jogador.getId(), jogador.getVersao() == null ? SEM_VERSAO : jogador.getVersao(),
+                codificar(jogador.getNome(), jogador.getEmail(), jogador.getTelefone(), jogador.getCodinome(),
+                        jogador.getGrupo()));
+    }
+
+    long getId() {
+        return id;
+    }
+
+    long getVersao() {
+        return versao == SEM_VERSAO ? 0 : versao;
+    }
+
+    Jogador paraJogador() {
+        String[] textos = decodificar();
+        return Jogador.builder()
+                .id(id)
+                .nome(textos[0])
+                .email(textos[1])
+                .telefone(textos[2])
+                .codinome(textos[3])
+                .grupo(textos[4])
+                .versao(versao == SEM_VERSAO ? null : versao)
+                .build();
+    }
+
+    // mesma semântica do update parcial: só os campos informados mudam e a versão avança
+    RegistroJogador alterado(Jogador alteracoes) {
+        String[] textos = decodificar();
+        String[] novos = {alteracoes.getNome(), alteracoes.getEmail(), alteracoes.getTelefone(),
+                alteracoes.getCodinome(), alteracoes.getGrupo()};
+        for (int i = 0; i < textos.length; i++) {
+            if (novos[i] != null) {
+                textos[i] = novos[i];
+            }
+        }
+        return new RegistroJogador(id, getVersao() + 1, codificar(textos));
+    }
+
+    int tamanhoSerializado() {
+        return Long.BYTES * 2 + Integer.BYTES + campos.length;
+    }
+
+    void escrever(ByteBuffer buffer) {
+        buffer.putLong(id);
+        buffer.putLong(versao);
+        buffer.putInt(campos.length);
+        buffer.put(campos);
+    }
+
+    static RegistroJogador ler(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        long versao = buffer.getLong();
+        byte[] campos = new byte[buffer.getInt()];
+        buffer.get(campos);
+        return new RegistroJogador(id, versao, campos);
+    }
+
+    private static byte[] codificar(String... textos) {
+        byte[][] bytes = new byte[textos.length][];
+        int tamanho = 0;
+        for (int i = 0; i < textos.length; i++) {
+            if (textos[i] != null) {
+                bytes[i] = textos[i].getBytes(StandardCharsets.UTF_8);
+                if (bytes[i].length >= NULO) {
+                    throw new IllegalArgumentException("Texto muito longo para o modelo em memória");
+                }
+                tamanho += bytes[i].length;
+            }
+            tamanho += 2;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+        for (byte[] texto : bytes) {
+            if (texto == null) {
+                buffer.putChar((char) NULO);
+            } else {
+                buffer.putChar((char) texto.length);
+                buffer.put(texto);
+            }
+        }
+        return buffer.array();
+    }
+
+    private String[] decodificar() {
+        String[] textos = new String[5];
+        int posicao = 0;
+        for (int i = 0; i < textos.length; i++) {
+            int tamanho = ((campos[posicao] & 0xFF) << 8) | (campos[posicao + 1] & 0xFF);
+            posicao += 2;
+            if (tamanho != NULO) {
+                textos[i] = new String(campos, posicao, tamanho, StandardCharsets.UTF_8);
+                posicao += tamanho;
+            }
+        }
+        return textos;
+    }
+}
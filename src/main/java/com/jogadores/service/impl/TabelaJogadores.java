@@ -0,0 +1,187 @@
+package com.jogadores.service.impl;
+
+import java.util.concurrent.locks.StampedLock;
+
+// mapa id -> registro com endereçamento aberto sobre long[]: sem boxing nem um nó por jogador
+final class TabelaJogadores {
+
+    private static final long VAZIO = 0;
+    private static final double CARGA_MAXIMA = 0.6;
+
+    private final StampedLock trava = new StampedLock();
+    private Posicoes posicoes;
+    private int tamanho;
+    private long somaVersoes;
+
+    TabelaJogadores(int capacidade) {
+        this.posicoes = new Posicoes(comprimento(capacidade));
+    }
+
+    // leitura otimista: só trava se uma gravação aconteceu durante a busca
+    RegistroJogador obter(long id) {
+        long carimbo = trava.tryOptimisticRead();
+        RegistroJogador registro = buscar(posicoes, id);
+        if (!trava.validate(carimbo)) {
+            carimbo = trava.readLock();
+            try {
+                registro = buscar(posicoes, id);
+            } finally {
+                trava.unlockRead(carimbo);
+            }
+        }
+        return registro;
+    }
+
+    void colocar(RegistroJogador registro) {
+        if (registro.getId() == VAZIO) {
+            throw new IllegalArgumentException("ID inválido para o modelo em memória");
+        }
+        long carimbo = trava.writeLock();
+        try {
+            if (tamanho + 1 > posicoes.limite) {
+                posicoes = redimensionar(posicoes);
+            }
+            int i = localizar(posicoes, registro.getId());
+            RegistroJogador anterior = posicoes.registros[i];
+            if (anterior == null) {
+                posicoes.ids[i] = registro.getId();
+                tamanho++;
+            } else {
+                somaVersoes -= anterior.getVersao();
+            }
+            posicoes.registros[i] = registro;
+            somaVersoes += registro.getVersao();
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+    }
+
+    RegistroJogador remover(long id) {
+        long carimbo = trava.writeLock();
+        try {
+            Posicoes p = posicoes;
+            int i = localizar(p, id);
+            RegistroJogador anterior = p.registros[i];
+            if (anterior == null) {
+                return null;
+            }
+            tamanho--;
+            somaVersoes -= anterior.getVersao();
+            // remoção com deslocamento: recua os vizinhos para não deixar lápides na sequência de sondagem
+            int j = i;
+            while (true) {
+                j = (j + 1) & p.mascara;
+                if (p.ids[j] == VAZIO) {
+                    break;
+                }
+                int ideal = espalhar(p.ids[j]) & p.mascara;
+                boolean fora = i <= j ? (ideal <= i || ideal > j) : (ideal <= i && ideal > j);
+                if (fora) {
+                    p.ids[i] = p.ids[j];
+                    p.registros[i] = p.registros[j];
+                    i = j;
+                }
+            }
+            p.ids[i] = VAZIO;
+            p.registros[i] = null;
+            return anterior;
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+    }
+
+    RegistroJogador[] copiar() {
+        long carimbo = trava.readLock();
+        try {
+            RegistroJogador[] copia = new RegistroJogador[tamanho];
+            int n = 0;
+            for (RegistroJogador registro : posicoes.registros) {
+                if (registro != null) {
+                    copia[n++] = registro;
+                }
+            }
+            return copia;
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    int tamanho() {
+        long carimbo = trava.readLock();
+        try {
+            return tamanho;
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    long somaVersoes() {
+        long carimbo = trava.readLock();
+        try {
+            return somaVersoes;
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    // tolera posições inconsistentes de uma leitura otimista: a sondagem é limitada e o carimbo decide
+    private static RegistroJogador buscar(Posicoes p, long id) {
+        int i = espalhar(id) & p.mascara;
+        for (int sondagens = 0; sondagens <= p.mascara; sondagens++) {
+            long atual = p.ids[i];
+            if (atual == id) {
+                return p.registros[i];
+            }
+            if (atual == VAZIO) {
+                return null;
+            }
+            i = (i + 1) & p.mascara;
+        }
+        return null;
+    }
+
+    private static int localizar(Posicoes p, long id) {
+        int i = espalhar(id) & p.mascara;
+        while (p.ids[i] != VAZIO && p.ids[i] != id) {
+            i = (i + 1) & p.mascara;
+        }
+        return i;
+    }
+
+    private static Posicoes redimensionar(Posicoes atuais) {
+        Posicoes novas = new Posicoes(atuais.ids.length * 2);
+        for (int i = 0; i < atuais.ids.length; i++) {
+            if (atuais.ids[i] != VAZIO) {
+                int destino = localizar(novas, atuais.ids[i]);
+                novas.ids[destino] = atuais.ids[i];
+                novas.registros[destino] = atuais.registros[i];
+            }
+        }
+        return novas;
+    }
+
+    private static int comprimento(int capacidade) {
+        int minimo = (int) Math.min(1 << 30, (long) Math.ceil(Math.max(capacidade, 16) / CARGA_MAXIMA));
+        return Integer.highestOneBit(minimo - 1) << 1;
+    }
+
+    private static int espalhar(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Posicoes {
+
+        private final long[] ids;
+        private final RegistroJogador[] registros;
+        private final int mascara;
+        private final int limite;
+
+        Posicoes(int comprimento) {
+            this.ids = new long[comprimento];
+            this.registros = new RegistroJogador[comprimento];
+            this.mascara = comprimento - 1;
+            this.limite = (int) (comprimento * CARGA_MAXIMA);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.jogadores.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class VersoesJogadores {
+
+    private final Cache<Long, Long> versoes;
+    private final AtomicLong colecao = new AtomicLong(System.currentTimeMillis());
+
+    public VersoesJogadores(@Value("${jogadores.versoes.capacidade:100000}") long capacidade) {
+        this.versoes = Caffeine.newBuilder().maximumSize(capacidade).build();
+    }
+
+    public Long versao(Long id) {
+        return id == null ? null : versoes.getIfPresent(id);
+    }
+
+    public long colecao() {
+        return colecao.get();
+    }
+
+    // só registra se nenhuma gravação terminou desde que a leitura começou
+    public synchronized void registrar(Long id, Long versao, long colecaoLida) {
+        if (id != null && versao != null && colecao.get() == colecaoLida) {
+            versoes.put(id, versao);
+        }
+    }
+
+    public void invalidar(Long id) {
+        aposGravacao(() -> {
+            colecao.incrementAndGet();
+            versoes.invalidate(id);
+        });
+    }
+
+    public void invalidarTodos() {
+        aposGravacao(() -> {
+            colecao.incrementAndGet();
+            versoes.invalidateAll();
+        });
+    }
+
+    // invalida já e de novo após o commit, para que leituras concorrentes não registrem a versão anterior
+    private void aposGravacao(Runnable invalidacao) {
+        synchronized (this) {
+            invalidacao.run();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    synchronized (VersoesJogadores.this) {
+                        invalidacao.run();
+                    }
+                }
+            });
+        }
+    }
+}
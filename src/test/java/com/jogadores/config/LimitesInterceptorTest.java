@@ -0,0 +1,107 @@
+package com.jogadores.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LimitesInterceptorTest {
+
+    @Test
+    @DisplayName("Deve responder 429 com Retry-After quando o cliente esgotar as fichas")
+    public void limiteDeTaxaPorClienteTest() throws Exception {
+        LimitesProperties properties = new LimitesProperties();
+        properties.setRequisicoesPorSegundo(1);
+        properties.setRajada(2);
+        properties.getChaves().addAll(Arrays.asList("cliente-a", "cliente-b"));
+        LimitesInterceptor interceptor = new LimitesInterceptor(properties, new ObjectMapper());
+
+        assertThat(interceptor.preHandle(requisicao("cliente-a"), new MockHttpServletResponse(), handler("getById"))).isTrue();
+        assertThat(interceptor.preHandle(requisicao("cliente-a"), new MockHttpServletResponse(), handler("getById"))).isTrue();
+        MockHttpServletResponse recusada = new MockHttpServletResponse();
+        boolean terceira = interceptor.preHandle(requisicao("cliente-a"), recusada, handler("getById"));
+        boolean outroCliente = interceptor.preHandle(requisicao("cliente-b"), new MockHttpServletResponse(), handler("getById"));
+
+        assertThat(terceira).isFalse();
+        assertThat(recusada.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(recusada.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(recusada.getContentAsString()).contains("Limite de requisições excedido");
+        assertThat(outroCliente).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve limitar pelo IP quando a chave do cliente não é conhecida")
+    public void chaveDesconhecidaLimitadaPeloIpTest() throws Exception {
+        LimitesProperties properties = new LimitesProperties();
+        properties.setRequisicoesPorSegundo(1);
+        properties.setRajada(2);
+        LimitesInterceptor interceptor = new LimitesInterceptor(properties, new ObjectMapper());
+
+        assertThat(interceptor.preHandle(requisicao("aleatoria-1"), new MockHttpServletResponse(), handler("getById"))).isTrue();
+        assertThat(interceptor.preHandle(requisicao("aleatoria-2"), new MockHttpServletResponse(), handler("getById"))).isTrue();
+        MockHttpServletResponse recusada = new MockHttpServletResponse();
+        boolean terceira = interceptor.preHandle(requisicao("aleatoria-3"), recusada, handler("getById"));
+        MockHttpServletRequest outroIp = requisicao("aleatoria-4");
+        outroIp.setRemoteAddr("10.0.0.2");
+        boolean outroCliente = interceptor.preHandle(outroIp, new MockHttpServletResponse(), handler("getById"));
+
+        assertThat(terceira).isFalse();
+        assertThat(recusada.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(outroCliente).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve limitar as requisições simultâneas apenas do endpoint configurado")
+    public void bulkheadPorEndpointTest() throws Exception {
+        LimitesProperties properties = new LimitesProperties();
+        properties.getConcorrencia().put("Endpoints.find", 1);
+        LimitesInterceptor interceptor = new LimitesInterceptor(properties, new ObjectMapper());
+
+        MockHttpServletRequest primeira = requisicao("cliente-a");
+        assertThat(interceptor.preHandle(primeira, new MockHttpServletResponse(), handler("find"))).isTrue();
+        MockHttpServletResponse recusada = new MockHttpServletResponse();
+        boolean segunda = interceptor.preHandle(requisicao("cliente-b"), recusada, handler("find"));
+        boolean outroEndpoint = interceptor.preHandle(requisicao("cliente-b"), new MockHttpServletResponse(), handler("getById"));
+        boolean mesmoNomeEmOutroController = interceptor.preHandle(requisicao("cliente-b"), new MockHttpServletResponse(),
+                new HandlerMethod(new OutrosEndpoints(), "find"));
+        interceptor.afterCompletion(primeira, new MockHttpServletResponse(), handler("find"), null);
+        boolean aposLiberar = interceptor.preHandle(requisicao("cliente-b"), new MockHttpServletResponse(), handler("find"));
+
+        assertThat(segunda).isFalse();
+        assertThat(recusada.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(outroEndpoint).isTrue();
+        assertThat(mesmoNomeEmOutroController).isTrue();
+        assertThat(aposLiberar).isTrue();
+    }
+
+    private MockHttpServletRequest requisicao(String cliente) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jogadores");
+        request.addHeader("X-Api-Key", cliente);
+        return request;
+    }
+
+    private HandlerMethod handler(String metodo) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), metodo);
+    }
+
+    static class Endpoints {
+        public void find() {
+        }
+
+        public void getById() {
+        }
+    }
+
+    static class OutrosEndpoints {
+        public void find() {
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.jogadores.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogSqlVerificadorTest {
+
+    @Test
+    @DisplayName("Deve apontar as propriedades de log de SQL ativas")
+    public void logSqlAtivoTest(){
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "true")
+                .withProperty("spring.jpa.properties.hibernate.format_sql", "true");
+
+        assertThat(new LogSqlVerificador(environment).ativos())
+                .contains("spring.jpa.show-sql", "hibernate.format_sql");
+    }
+
+    @Test
+    @DisplayName("Não deve apontar propriedades quando o log de SQL estiver desativado")
+    public void logSqlDesativadoTest(){
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "false");
+
+        assertThat(new LogSqlVerificador(environment).ativos())
+                .doesNotContain("spring.jpa.show-sql", "hibernate.format_sql");
+    }
+}
@@ -0,0 +1,46 @@
+package com.jogadores.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RoteamentoDataSourceTest {
+
+    RoteamentoDataSource roteamento = new RoteamentoDataSource();
+
+    @AfterEach
+    public void tearDown(){
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Deve usar a réplica em transações somente leitura")
+    public void replicaEmTransacaoSomenteLeituraTest(){
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(roteamento.determineCurrentLookupKey()).isEqualTo(RoteamentoDataSource.REPLICA);
+    }
+
+    @Test
+    @DisplayName("Deve usar o banco primário fora de transações somente leitura")
+    public void primarioForaDeTransacaoSomenteLeituraTest(){
+        assertThat(roteamento.determineCurrentLookupKey()).isEqualTo(RoteamentoDataSource.PRIMARIO);
+    }
+
+    @Test
+    @DisplayName("Deve usar o banco primário nas leituras que alimentam caches")
+    public void primarioExigidoEmTransacaoSomenteLeituraTest(){
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        try (RoteamentoDataSource.Primario primario = RoteamentoDataSource.noPrimario()) {
+            try (RoteamentoDataSource.Primario aninhado = RoteamentoDataSource.noPrimario()) {
+                assertThat(roteamento.determineCurrentLookupKey()).isEqualTo(RoteamentoDataSource.PRIMARIO);
+            }
+            assertThat(roteamento.determineCurrentLookupKey()).isEqualTo(RoteamentoDataSource.PRIMARIO);
+        }
+        assertThat(roteamento.determineCurrentLookupKey()).isEqualTo(RoteamentoDataSource.REPLICA);
+    }
+}
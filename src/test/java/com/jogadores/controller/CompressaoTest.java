@@ -0,0 +1,64 @@
+package com.jogadores.controller;
+
+import com.jogadores.model.Jogador;
+import com.jogadores.repository.JogadorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class CompressaoTest {
+
+    @LocalServerPort
+    int porta;
+
+    @Autowired
+    JogadorRepository repository;
+
+    @AfterEach
+    public void tearDown(){
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve comprimir a listagem de jogadores, que traz ETag")
+    public void listagemComprimidaTest() throws Exception {
+        List<Jogador> jogadores = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            jogadores.add(Jogador.builder()
+                    .nome("Jogador " + i)
+                    .email("jogador" + i + "@email.com")
+                    .telefone("(11) 99999-9999")
+                    .codinome("Codinome " + i)
+                    .grupo("Vingadores")
+                    .build());
+        }
+        repository.saveAll(jogadores);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/jogadores?size=100"))
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build();
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.ETAG)).isPresent();
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(response.headers().allValues(HttpHeaders.VARY).toString()).containsIgnoringCase(HttpHeaders.ACCEPT);
+    }
+}
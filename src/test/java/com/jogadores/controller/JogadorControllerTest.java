@@ -1,10 +1,26 @@
 package com.jogadores.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.jogadores.config.ConversoresConfig;
 import com.jogadores.controller.dto.JogadorDTO;
 import com.jogadores.exceptions.BusinessException;
+import com.jogadores.exceptions.FilaCheiaException;
+import com.jogadores.model.EventoJogador;
 import com.jogadores.model.Jogador;
+import com.jogadores.model.TipoBusca;
+import com.jogadores.model.TipoEvento;
+import com.jogadores.service.Cursor;
+import com.jogadores.service.CadastroAssincronoService;
+import com.jogadores.service.CursorPage;
+import com.jogadores.service.EventosService;
 import com.jogadores.service.JogadorService;
+import com.jogadores.service.Resultado;
+import com.jogadores.service.ResultadoImportacao;
+import com.jogadores.service.ResultadoPorIds;
+import com.jogadores.service.ResumoGrupo;
+import com.jogadores.service.StatusCadastro;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,27 +31,43 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
 @WebMvcTest
 @AutoConfigureMockMvc
+@Import(ConversoresConfig.class)
 public class JogadorControllerTest {
 
     static String JOGADOR_API = "/api/jogadores";
+    static MediaType APPLICATION_CBOR = MediaType.parseMediaType("application/cbor");
 
     @Autowired
     MockMvc mvc;
@@ -43,6 +75,12 @@ public class JogadorControllerTest {
     @MockBean
     JogadorService service;
 
+    @MockBean
+    CadastroAssincronoService cadastroAssincrono;
+
+    @MockBean
+    EventosService eventos;
+
     @Test
     @DisplayName(("Deve criar um jogador com sucesso"))
     public void criarJogadorTest() throws Exception {
@@ -57,7 +95,7 @@ public class JogadorControllerTest {
                 .grupo("Vingadores")
                 .build();
 
-        BDDMockito.given(service.save(Mockito.any(Jogador.class))).willReturn(jogadorSalvo);
+        BDDMockito.given(service.cadastrar(Mockito.any(Jogador.class))).willReturn(Resultado.sucesso(jogadorSalvo));
 
         String json = new ObjectMapper().writeValueAsString(dto);
 
@@ -78,6 +116,51 @@ public class JogadorControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("grupo").value("Vingadores"));
     }
 
+    @Test
+    @DisplayName("Deve enfileirar o cadastro e responder 202 com a URL de acompanhamento no modo assíncrono")
+    public void criarJogadorAssincronoTest() throws Exception {
+        BDDMockito.given(cadastroAssincrono.isHabilitado()).willReturn(true);
+        BDDMockito.given(cadastroAssincrono.enfileirar(Mockito.any(Jogador.class))).willReturn(StatusCadastro.pendente("abc"));
+
+        mvc
+                .perform(MockMvcRequestBuilders.post(JOGADOR_API)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(criarNovoJogadorDTO())))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LOCATION, Matchers.endsWith("/api/jogadores/cadastros/abc")))
+                .andExpect(MockMvcResultMatchers.jsonPath("situacao").value("PENDENTE"));
+
+        Mockito.verify(service, Mockito.never()).save(Mockito.any(Jogador.class));
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 com Retry-After quando a fila de cadastros estiver cheia")
+    public void criarJogadorFilaCheiaTest() throws Exception {
+        BDDMockito.given(cadastroAssincrono.isHabilitado()).willReturn(true);
+        BDDMockito.given(cadastroAssincrono.enfileirar(Mockito.any(Jogador.class)))
+                .willThrow(new FilaCheiaException("Fila de cadastros cheia"));
+
+        mvc
+                .perform(MockMvcRequestBuilders.post(JOGADOR_API)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(criarNovoJogadorDTO())))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("errors[0]").value("Fila de cadastros cheia"));
+    }
+
+    @Test
+    @DisplayName("Deve informar a situação de um cadastro assíncrono")
+    public void obterStatusCadastroTest() throws Exception {
+        BDDMockito.given(cadastroAssincrono.getStatus("abc")).willReturn(Optional.of(StatusCadastro.criado("abc", 7L)));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("/cadastros/abc")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("situacao").value("CRIADO"))
+                .andExpect(MockMvcResultMatchers.jsonPath("id").value(7));
+    }
+
     @Test
     @DisplayName(("Deve retornar um erro quando algum dos campos não for preenchido"))
     public void criarJogadorInvalidoTest() throws Exception {
@@ -101,8 +184,8 @@ public class JogadorControllerTest {
         JogadorDTO dto = criarNovoJogadorDTO();
 
         String json = new ObjectMapper().writeValueAsString(dto);
-        String menssagemErro = "Codinome já cadastrado.";
-        BDDMockito.given(service.save(Mockito.any(Jogador.class))).willThrow(new BusinessException(menssagemErro));
+        String menssagemErro = "Codinome já cadastrado";
+        BDDMockito.given(service.cadastrar(Mockito.any(Jogador.class))).willReturn(Resultado.falha(menssagemErro));
 
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .post(JOGADOR_API)
@@ -117,6 +200,23 @@ public class JogadorControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Deve responder 400 quando o cadastro perder a corrida pelo codinome no banco")
+    public void criarJogadorCorridaCodinomeTest() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(criarNovoJogadorDTO());
+        BDDMockito.given(service.cadastrar(Mockito.any(Jogador.class))).willThrow(BusinessException.CODINOME_JA_CADASTRADO);
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(JOGADOR_API)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(json);
+
+        mvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("errors[0]").value("Codinome já cadastrado"));
+    }
+
     @Test
     @DisplayName("Deve mostrar informaçoes de um jogador")
     public void obterDetalhesJogadorTest() throws Exception {
@@ -153,6 +253,58 @@ public class JogadorControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Deve retornar a ETag da versão do jogador e o Cache-Control")
+    public void obterJogadorComEtagTest() throws Exception {
+        Jogador jogador = Jogador.builder().id(1L).nome("Felipe").versao(3L).build();
+        BDDMockito.given(service.getById(1L)).willReturn(Optional.of(jogador));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("/1")).accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"3\""))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, Matchers.containsString(HttpHeaders.ACCEPT)))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem consultar o jogador quando a versão conhecida coincidir")
+    public void obterJogadorNaoModificadoTest() throws Exception {
+        BDDMockito.given(service.versaoConhecida(1L)).willReturn(3L);
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("/1"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"3\""));
+
+        Mockito.verify(service, Mockito.never()).getById(Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 pela versão do jogador quando ela não estiver no mapa de versões")
+    public void obterJogadorNaoModificadoSemVersaoConhecidaTest() throws Exception {
+        BDDMockito.given(service.getById(1L)).willReturn(Optional.of(Jogador.builder().id(1L).versao(3L).build()));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("/1"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 na listagem sem consultar quando a coleção não mudou")
+    public void listagemNaoModificadaTest() throws Exception {
+        BDDMockito.given(service.versaoColecao()).willReturn(7L);
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("?nome=Felipe"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"c7\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        Mockito.verify(service, Mockito.never()).findJogador(Mockito.any(Jogador.class), Mockito.any(TipoBusca.class), Mockito.any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Deve retornar não encontrado quando o jogador não existir'")
     public void jogadorNaoEncontradoTest() throws Exception {
@@ -170,7 +322,7 @@ public class JogadorControllerTest {
     @Test
     @DisplayName("Deve apagar um jogador")
     public void deletarJogadorTest() throws Exception {
-        BDDMockito.given(service.getById(Mockito.anyLong())).willReturn(Optional.of(Jogador.builder().id(1L).build()));
+        BDDMockito.given(service.deleteById(1L)).willReturn(true);
 
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .delete(JOGADOR_API.concat("/" + 1));
@@ -178,12 +330,14 @@ public class JogadorControllerTest {
         mvc
                 .perform(request)
                 .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        Mockito.verify(service, Mockito.never()).getById(Mockito.anyLong());
     }
 
     @Test
     @DisplayName("Deve retornar not found quando quando não encontrar jogador para apagar")
     public void deletarJogadorInexistenteTest() throws Exception {
-        BDDMockito.given(service.getById(Mockito.anyLong())).willReturn(Optional.empty());
+        BDDMockito.given(service.deleteById(Mockito.anyLong())).willReturn(false);
 
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .delete(JOGADOR_API.concat("/" + 1));
@@ -193,6 +347,30 @@ public class JogadorControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Deve apagar vários jogadores pelos IDs")
+    public void deletarJogadoresPorIdsTest() throws Exception {
+        BDDMockito.given(service.deleteByIds(Arrays.asList(1L, 2L, 3L))).willReturn(2);
+
+        mvc
+                .perform(MockMvcRequestBuilders.delete(JOGADOR_API.concat("?ids=1,2,3")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("excluidos").value(2));
+    }
+
+    @Test
+    @DisplayName("Deve apagar os jogadores que atendem ao filtro")
+    public void deletarJogadoresPorFiltroTest() throws Exception {
+        BDDMockito.given(service.deleteJogadores(Mockito.argThat(filtro -> "Vingadores".equals(filtro.getGrupo())),
+                        Mockito.eq(TipoBusca.EXATO)))
+                .willReturn(5);
+
+        mvc
+                .perform(MockMvcRequestBuilders.delete(JOGADOR_API.concat("?grupo=Vingadores&busca=EXATO")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("excluidos").value(5));
+    }
+
     @Test
     @DisplayName("Deve atualizar um jogador")
     public void atualizarJogadorTest() throws Exception{
@@ -218,7 +396,7 @@ public class JogadorControllerTest {
                 .grupo("Vingadores")
                 .build();
 
-        BDDMockito.given(service.updateJogador(atualizandoJogador)).willReturn(jogadorAtualizado);
+        BDDMockito.given(service.atualizar(Mockito.any(Jogador.class))).willReturn(Resultado.sucesso(jogadorAtualizado));
 
         MockHttpServletRequestBuilder request = MockMvcRequestBuilders
                 .put(JOGADOR_API.concat("/" + 1))
@@ -235,6 +413,8 @@ public class JogadorControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("telefone").value(criarNovoJogadorDTO().getTelefone()))
                 .andExpect(MockMvcResultMatchers.jsonPath("codinome").value(criarNovoJogadorDTO().getCodinome()))
                 .andExpect(MockMvcResultMatchers.jsonPath("grupo").value(criarNovoJogadorDTO().getGrupo()));
+        // a instância devolvida por getById pode estar no cache e não é alterada
+        assertThat(atualizandoJogador.getEmail()).isEqualTo("lipe@email.com");
     }
 
     @Test
@@ -257,6 +437,61 @@ public class JogadorControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Deve atualizar parcialmente um jogador")
+    public void atualizarParcialmenteJogadorTest() throws Exception{
+        String json = "{\"email\":\"lipe@email.com\",\"versao\":3}";
+
+        BDDMockito.given(service.atualizarParcial(Mockito.eq(1L), Mockito.eq(3L), Mockito.any(Jogador.class)))
+                .willReturn(true);
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .patch(JOGADOR_API.concat("/" + 1))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json);
+
+        mvc
+                .perform(request)
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        Mockito.verify(service).atualizarParcial(Mockito.eq(1L), Mockito.eq(3L),
+                Mockito.argThat(alteracoes -> "lipe@email.com".equals(alteracoes.getEmail()) && alteracoes.getNome() == null));
+        Mockito.verify(service, Mockito.never()).getById(Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao atualizar parcialmente um jogador inexistente")
+    public void atualizarParcialmenteJogadorInexistenteTest() throws Exception{
+        BDDMockito.given(service.atualizarParcial(Mockito.anyLong(), Mockito.any(), Mockito.any(Jogador.class)))
+                .willReturn(false);
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .patch(JOGADOR_API.concat("/" + 1))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\":\"Felipe\"}");
+
+        mvc
+                .perform(request)
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 409 ao atualizar parcialmente um jogador com versão desatualizada")
+    public void atualizarParcialmenteJogadorVersaoDesatualizadaTest() throws Exception{
+        BDDMockito.given(service.atualizarParcial(Mockito.anyLong(), Mockito.any(), Mockito.any(Jogador.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Jogador.class, 1L));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .patch(JOGADOR_API.concat("/" + 1))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\":\"Felipe\",\"versao\":1}");
+
+        mvc
+                .perform(request)
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("errors", Matchers.hasSize(1)));
+    }
+
     @Test
     @DisplayName("Deve filtrar jogador")
     public void findJogadoresTest() throws Exception{
@@ -272,7 +507,7 @@ public class JogadorControllerTest {
                 .grupo(criarNovoJogadorDTO().getGrupo())
                 .build();
 
-        BDDMockito.given( service.findJogador(Mockito.any(Jogador.class), Mockito.any(Pageable.class)))
+        BDDMockito.given( service.findJogador(Mockito.any(Jogador.class), Mockito.eq(TipoBusca.CONTEM), Mockito.any(Pageable.class)))
                 .willReturn(new PageImpl<Jogador>( Arrays.asList(jogador), PageRequest.of(0,10), 1 ));
 
         String queryString = String.format("?nome=%s&grupo=%s&page=0&size=10",
@@ -292,6 +527,360 @@ public class JogadorControllerTest {
         ;
     }
 
+    @Test
+    @DisplayName("Deve filtrar jogadores retornando apenas os campos informados")
+    public void findJogadoresComCamposTest() throws Exception{
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("id", 1L);
+        linha.put("codinome", "Hulk");
+
+        BDDMockito.given( service.findCampos(Mockito.any(Jogador.class), Mockito.eq(TipoBusca.CONTEM),
+                        Mockito.eq(Arrays.asList("id", "codinome")), Mockito.any(Pageable.class)))
+                .willReturn(new PageImpl<>( Arrays.asList(linha), PageRequest.of(0,10), 1 ));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get(JOGADOR_API.concat("?fields=id,codinome&page=0&size=10"))
+                .accept(MediaType.APPLICATION_JSON);
+
+        mvc
+                .perform( request )
+                .andExpect(MockMvcResultMatchers.status().isOk() )
+                .andExpect(MockMvcResultMatchers.jsonPath("content[0].codinome").value("Hulk"))
+                .andExpect(MockMvcResultMatchers.jsonPath("content[0].nome").doesNotExist());
+
+        Mockito.verify(service, Mockito.never()).findJogador(Mockito.any(Jogador.class), Mockito.any(TipoBusca.class), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve listar jogadores em CBOR quando solicitado pelo Accept")
+    public void findJogadoresCborTest() throws Exception{
+        Jogador jogador = Jogador.builder().id(1L).nome("Felipe").codinome("Hulk").build();
+        BDDMockito.given( service.findJogador(Mockito.any(Jogador.class), Mockito.eq(TipoBusca.CONTEM), Mockito.any(Pageable.class)))
+                .willReturn(new PageImpl<Jogador>( Arrays.asList(jogador), PageRequest.of(0,10), 1 ));
+
+        MvcResult result = mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("?page=0&size=10")).accept(APPLICATION_CBOR))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode corpo = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertThat(corpo.get("content").get(0).get("codinome").asText()).isEqualTo("Hulk");
+        assertThat(corpo.get("totalElements").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve filtrar jogador pelo prefixo quando o tipo de busca for informado")
+    public void findJogadoresPorPrefixoTest() throws Exception{
+
+        Jogador jogador = Jogador.builder()
+                .id(1L)
+                .nome(criarNovoJogadorDTO().getNome())
+                .codinome(criarNovoJogadorDTO().getCodinome())
+                .grupo(criarNovoJogadorDTO().getGrupo())
+                .build();
+
+        BDDMockito.given( service.findJogador(Mockito.any(Jogador.class), Mockito.eq(TipoBusca.PREFIXO), Mockito.any(Pageable.class)))
+                .willReturn(new PageImpl<Jogador>( Arrays.asList(jogador), PageRequest.of(0,10), 1 ));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get(JOGADOR_API.concat("?codinome=hu&busca=PREFIXO&page=0&size=10"))
+                .accept(MediaType.APPLICATION_JSON);
+
+        mvc
+                .perform( request )
+                .andExpect(MockMvcResultMatchers.status().isOk() )
+                .andExpect(MockMvcResultMatchers.jsonPath("content", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("content[0].codinome").value("Hulk"));
+    }
+
+    @Test
+    @DisplayName("Deve obter vários jogadores pelos IDs")
+    public void getJogadoresPorIdsTest() throws Exception {
+        Jogador jogador = Jogador.builder()
+                .id(2L)
+                .nome(criarNovoJogadorDTO().getNome())
+                .codinome(criarNovoJogadorDTO().getCodinome())
+                .build();
+        BDDMockito.given(service.getByIds(Arrays.asList(2L, 7L)))
+                .willReturn(new ResultadoPorIds<>(Arrays.asList(jogador), Arrays.asList(7L)));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("/lote?ids=2,7")).accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("content", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("content[0].id").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("naoEncontrados[0]").value(7));
+    }
+
+    @Test
+    @DisplayName("Deve retornar a contagem de jogadores por grupo")
+    public void getGruposTest() throws Exception{
+
+        BDDMockito.given(service.getGrupos()).willReturn(Arrays.asList(
+                new ResumoGrupo("Vingadores", 3), new ResumoGrupo("Liga da Justiça", 1)));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("/grupos")).accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].grupo").value("Vingadores"))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].total").value(3));
+    }
+
+    @Test
+    @DisplayName("Deve buscar os jogadores pelo email exato")
+    public void findPorEmailTest() throws Exception{
+
+        Jogador jogador = Jogador.builder()
+                .id(1L)
+                .nome("Felipe")
+                .email("felipe@email.com")
+                .codinome("Hulk")
+                .build();
+        BDDMockito.given(service.findPorEmail("felipe@email.com")).willReturn(Arrays.asList(jogador));
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("/emails/felipe@email.com")).accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].codinome").value("Hulk"));
+    }
+
+    @Test
+    @DisplayName("Deve entregar os eventos posteriores à sequência informada")
+    public void listarEventosTest() throws Exception{
+
+        EventoJogador evento = EventoJogador.builder()
+                .id(40L)
+                .sequencia(6L)
+                .tipo(TipoEvento.CRIADO)
+                .jogadorId(1L)
+                .versao(0L)
+                .dados("{\"id\":1,\"codinome\":\"Hulk\"}")
+                .criadoEm(Instant.now())
+                .build();
+        BDDMockito.given(eventos.isHabilitado()).willReturn(true);
+        BDDMockito.given(eventos.aguardar(5L)).willReturn(CompletableFuture.completedFuture(null));
+        BDDMockito.given(eventos.listar(5L, 100)).willReturn(Arrays.asList(evento));
+
+        MvcResult resultado = mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("/eventos?desde=5")).accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc
+                .perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].sequencia").value(6))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].tipo").value("CRIADO"))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].jogador.codinome").value("Hulk"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 404 nos eventos quando a outbox estiver desabilitada")
+    public void listarEventosDesabilitadoTest() throws Exception{
+
+        mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("/eventos")).accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        Mockito.verify(eventos, Mockito.never()).aguardar(Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve listar jogadores por cursor")
+    public void findJogadoresPorCursorTest() throws Exception{
+
+        Jogador jogador = Jogador.builder()
+                .id(5L)
+                .nome(criarNovoJogadorDTO().getNome())
+                .codinome(criarNovoJogadorDTO().getCodinome())
+                .build();
+        String proximoCursor = Cursor.encode(5L);
+
+        BDDMockito.given( service.findJogador(Mockito.any(Jogador.class), Mockito.eq(TipoBusca.CONTEM),
+                        Mockito.eq("abc"), Mockito.eq(1), Mockito.eq(false)))
+                .willReturn(new CursorPage<Jogador>(Arrays.asList(jogador), 1, proximoCursor, null));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get(JOGADOR_API.concat("/cursor?cursor=abc&size=1"))
+                .accept(MediaType.APPLICATION_JSON);
+
+        mvc
+                .perform( request )
+                .andExpect(MockMvcResultMatchers.status().isOk() )
+                .andExpect(MockMvcResultMatchers.jsonPath("content", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("content[0].id").value(5))
+                .andExpect(MockMvcResultMatchers.jsonPath("nextCursor").value(proximoCursor))
+                .andExpect(MockMvcResultMatchers.jsonPath("last").value(false));
+    }
+
+    @Test
+    @DisplayName("Deve importar jogadores enviados em NDJSON informando o resultado de cada linha")
+    public void importarJogadoresNdjsonTest() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        JogadorDTO thor = criarNovoJogadorDTO();
+        thor.setCodinome("Thor");
+        String corpo = objectMapper.writeValueAsString(criarNovoJogadorDTO()) + "\n"
+                + objectMapper.writeValueAsString(new JogadorDTO()) + "\n"
+                + objectMapper.writeValueAsString(thor) + "\n";
+
+        BDDMockito.given(service.importar(Mockito.anyList())).willAnswer(invocation -> {
+            List<Jogador> lote = invocation.getArgument(0);
+            List<ResultadoImportacao> resultados = new ArrayList<>();
+            for (int i = 0; i < lote.size(); i++) {
+                resultados.add(ResultadoImportacao.criado(i, 10L + i));
+            }
+            return resultados;
+        });
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(JOGADOR_API.concat("/lote"))
+                .contentType("application/x-ndjson")
+                .accept(MediaType.APPLICATION_JSON)
+                .content(corpo);
+
+        mvc
+                .perform(request)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].status").value("CRIADO"))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].id").value(10))
+                .andExpect(MockMvcResultMatchers.jsonPath("[1].linha").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("[1].status").value("INVALIDO"))
+                .andExpect(MockMvcResultMatchers.jsonPath("[2].linha").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("[2].id").value(11));
+    }
+
+    @Test
+    @DisplayName("Deve devolver os resultados já gravados e a linha do conteúdo inválido")
+    public void importarJogadoresConteudoInvalidoTest() throws Exception {
+        String corpo = new ObjectMapper().writeValueAsString(criarNovoJogadorDTO()) + "\n{\"nome\": \n";
+
+        BDDMockito.given(service.importar(Mockito.anyList()))
+                .willReturn(Arrays.asList(ResultadoImportacao.criado(0, 10L)));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(JOGADOR_API.concat("/lote"))
+                .contentType("application/x-ndjson")
+                .accept(MediaType.APPLICATION_JSON)
+                .content(corpo);
+
+        mvc
+                .perform(request)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].status").value("CRIADO"))
+                .andExpect(MockMvcResultMatchers.jsonPath("[1].linha").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("[1].status").value("INVALIDO"));
+    }
+
+    @Test
+    @DisplayName("Deve gravar jogador a jogador quando um codinome do lote for tomado por outro cadastro")
+    public void importarJogadoresCorridaCodinomeTest() throws Exception {
+        JogadorDTO thor = criarNovoJogadorDTO();
+        thor.setCodinome("Thor");
+        String corpo = new ObjectMapper().writeValueAsString(Arrays.asList(criarNovoJogadorDTO(), thor));
+
+        BDDMockito.given(service.importar(Mockito.anyList())).willThrow(new DataIntegrityViolationException("uk_jogador_codinome"));
+        BDDMockito.given(service.cadastrar(Mockito.any(Jogador.class))).willAnswer(invocation -> {
+            Jogador jogador = invocation.getArgument(0);
+            return "Hulk".equals(jogador.getCodinome())
+                    ? Resultado.falha("Codinome já cadastrado")
+                    : Resultado.sucesso(Jogador.builder().id(11L).codinome("Thor").build());
+        });
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(JOGADOR_API.concat("/lote"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(corpo);
+
+        mvc
+                .perform(request)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].status").value("DUPLICADO"))
+                .andExpect(MockMvcResultMatchers.jsonPath("[1].status").value("CRIADO"))
+                .andExpect(MockMvcResultMatchers.jsonPath("[1].id").value(11));
+    }
+
+    @Test
+    @DisplayName("Deve importar jogadores enviados em um array JSON")
+    public void importarJogadoresArrayTest() throws Exception {
+        String corpo = new ObjectMapper().writeValueAsString(Arrays.asList(criarNovoJogadorDTO()));
+
+        BDDMockito.given(service.importar(Mockito.anyList()))
+                .willReturn(Arrays.asList(ResultadoImportacao.duplicado(0)));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(JOGADOR_API.concat("/lote"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(corpo);
+
+        mvc
+                .perform(request)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].status").value("DUPLICADO"));
+    }
+
+    @Test
+    @DisplayName("Deve exportar os jogadores em NDJSON")
+    public void exportarJogadoresNdjsonTest() throws Exception {
+        simularExportacao(Jogador.builder().id(1L).nome("Felipe").codinome("Hulk").build(),
+                Jogador.builder().id(2L).nome("Ana").codinome("Thor").build());
+
+        MvcResult resultado = mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("/exportacao?grupo=Vingadores")))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc
+                .perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-ndjson"))
+                .andExpect(MockMvcResultMatchers.content().string(Matchers.containsString("\"codinome\":\"Hulk\"")))
+                .andExpect(MockMvcResultMatchers.content().string(Matchers.containsString("\n{\"id\":2")));
+    }
+
+    @Test
+    @DisplayName("Deve exportar os jogadores em CSV escapando os campos")
+    public void exportarJogadoresCsvTest() throws Exception {
+        simularExportacao(Jogador.builder().id(1L).nome("Silva, Felipe").email("felipe@email.com")
+                .telefone("(11) 99999-9999").codinome("Hulk").grupo("Vingadores").build());
+
+        MvcResult resultado = mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("/exportacao?formato=csv")))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc
+                .perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "id,nome,email,telefone,codinome,grupo\n"
+                                + "1,\"Silva, Felipe\",felipe@email.com,(11) 99999-9999,Hulk,Vingadores\n"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro ao exportar em um formato desconhecido")
+    public void exportarFormatoInvalidoTest() throws Exception {
+        mvc
+                .perform(MockMvcRequestBuilders.get(JOGADOR_API.concat("/exportacao?formato=xml")))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void simularExportacao(Jogador... jogadores) {
+        BDDMockito.willAnswer(invocation -> {
+            Consumer<Jogador> consumidor = invocation.getArgument(2);
+            Arrays.asList(jogadores).forEach(consumidor);
+            return null;
+        }).given(service).exportar(Mockito.any(), Mockito.any(), Mockito.any(Consumer.class));
+    }
+
     private JogadorDTO criarNovoJogadorDTO() {
         return JogadorDTO.builder()
                 .nome("Felipe")
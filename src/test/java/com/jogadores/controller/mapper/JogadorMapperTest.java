@@ -0,0 +1,68 @@
+package com.jogadores.controller.mapper;
+
+import com.jogadores.controller.dto.JogadorDTO;
+import com.jogadores.model.Jogador;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JogadorMapperTest {
+
+    JogadorMapper mapper = new JogadorMapper();
+
+    @Test
+    @DisplayName("Deve converter um jogador em DTO")
+    public void converterParaDTOTest() {
+        JogadorDTO dto = mapper.toDTO(criarJogador(1L));
+
+        assertThat(dto.getId()).isEqualTo(1L);
+        assertThat(dto.getNome()).isEqualTo("Felipe");
+        assertThat(dto.getEmail()).isEqualTo("felipe@email.com");
+        assertThat(dto.getTelefone()).isEqualTo("(11) 99999-9999");
+        assertThat(dto.getCodinome()).isEqualTo("Hulk");
+        assertThat(dto.getGrupo()).isEqualTo("Vingadores");
+    }
+
+    @Test
+    @DisplayName("Deve converter um DTO em jogador mantendo campos nulos")
+    public void converterParaEntidadeTest() {
+        JogadorDTO dto = JogadorDTO.builder().nome("Felipe").grupo("Vingadores").build();
+
+        Jogador jogador = mapper.toEntity(dto);
+
+        assertThat(jogador.getId()).isNull();
+        assertThat(jogador.getNome()).isEqualTo("Felipe");
+        assertThat(jogador.getEmail()).isNull();
+        assertThat(jogador.getGrupo()).isEqualTo("Vingadores");
+    }
+
+    @Test
+    @DisplayName("Deve converter uma página de jogadores preservando a paginação")
+    public void converterPaginaTest() {
+        Page<Jogador> page = new PageImpl<>(Arrays.asList(criarJogador(1L), criarJogador(2L)), PageRequest.of(1, 2), 10);
+
+        Page<JogadorDTO> result = mapper.toDTOPage(page);
+
+        assertThat(result.getContent()).extracting(JogadorDTO::getId).containsExactly(1L, 2L);
+        assertThat(result.getTotalElements()).isEqualTo(10);
+        assertThat(result.getPageable().getPageNumber()).isEqualTo(1);
+        assertThat(result.getPageable().getPageSize()).isEqualTo(2);
+    }
+
+    private Jogador criarJogador(Long id) {
+        return Jogador.builder()
+                .id(id)
+                .nome("Felipe")
+                .email("felipe@email.com")
+                .telefone("(11) 99999-9999")
+                .codinome("Hulk")
+                .grupo("Vingadores")
+                .build();
+    }
+}
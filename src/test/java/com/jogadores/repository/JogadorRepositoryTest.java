@@ -1,15 +1,22 @@
 package com.jogadores.repository;
 
 import com.jogadores.model.Jogador;
+import com.jogadores.model.TipoBusca;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -92,6 +99,185 @@ public class JogadorRepositoryTest {
         assertThat(jogadorDeletado).isNull();
     }
 
+    @Test
+    @DisplayName("Deve preencher as colunas normalizadas ao salvar")
+    public void normalizarColunasDeBuscaTest(){
+        Jogador jogador = criarNovoJogador();
+        jogador.setGrupo("Liga da Justiça");
+
+        Jogador jogadorSalvo = repository.saveAndFlush(jogador);
+
+        assertThat(jogadorSalvo.getNomeNormalizado()).isEqualTo("felipe");
+        assertThat(jogadorSalvo.getCodinomeNormalizado()).isEqualTo("hulk");
+        assertThat(jogadorSalvo.getGrupoNormalizado()).isEqualTo("liga da justica");
+    }
+
+    @Test
+    @DisplayName("Deve buscar jogadores pelo prefixo ignorando maiúsculas e acentos")
+    public void buscarPorPrefixoTest(){
+        entityManager.persist(criarNovoJogador());
+        Jogador outro = criarNovoJogador();
+        outro.setCodinome("Thor");
+        outro.setNome("Ângela");
+        entityManager.persist(outro);
+
+        Page<Jogador> resultado = repository.findAll(
+                JogadorSpecifications.filtro(Jogador.builder().nome("ANG").build(), TipoBusca.PREFIXO),
+                PageRequest.of(0, 10));
+
+        assertThat(resultado.getContent()).extracting(Jogador::getCodinome).containsExactly("Thor");
+    }
+
+    @Test
+    @DisplayName("Não deve encontrar pelo prefixo um termo que aparece apenas no meio do valor")
+    public void buscarPorPrefixoNaoEncontraTrechoTest(){
+        entityManager.persist(criarNovoJogador());
+
+        Page<Jogador> porPrefixo = repository.findAll(
+                JogadorSpecifications.filtro(Jogador.builder().nome("lipe").build(), TipoBusca.PREFIXO),
+                PageRequest.of(0, 10));
+        Page<Jogador> porTrecho = repository.findAll(
+                JogadorSpecifications.filtro(Jogador.builder().nome("lipe").build(), TipoBusca.CONTEM),
+                PageRequest.of(0, 10));
+
+        assertThat(porPrefixo.getTotalElements()).isZero();
+        assertThat(porTrecho.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve buscar apenas os campos informados")
+    public void buscarCamposTest(){
+        Jogador jogador = entityManager.persist(criarNovoJogador());
+
+        Page<Map<String, Object>> resultado = repository.findCampos(Jogador.builder().grupo("vinga").build(),
+                TipoBusca.PREFIXO, Arrays.asList("id", "codinome"), PageRequest.of(0, 10, Sort.by("codinome")));
+
+        assertThat(resultado.getTotalElements()).isEqualTo(1);
+        assertThat(resultado.getContent().get(0))
+                .containsOnlyKeys("id", "codinome")
+                .containsEntry("id", jogador.getId())
+                .containsEntry("codinome", "Hulk");
+    }
+
+    @Test
+    @DisplayName("Deve buscar os jogadores seguintes ao ID informado em ordem crescente")
+    public void buscarAposIdTest(){
+        Long[] ids = new Long[3];
+        for (int i = 0; i < ids.length; i++) {
+            Jogador jogador = criarNovoJogador();
+            jogador.setCodinome("Hulk " + i);
+            ids[i] = entityManager.persist(jogador).getId();
+        }
+
+        List<Jogador> resultado = repository.findAposId(new Jogador(), TipoBusca.CONTEM, ids[0], 10);
+
+        assertThat(resultado).extracting(Jogador::getId).containsExactly(ids[1], ids[2]);
+    }
+
+    @Test
+    @DisplayName("Deve retornar apenas os codinomes já cadastrados")
+    public void buscarCodinomesExistentesTest(){
+        entityManager.persist(criarNovoJogador());
+
+        List<String> existentes = repository.findCodinomesExistentes(Arrays.asList("Hulk", "Thor"));
+
+        assertThat(existentes).containsExactly("Hulk");
+    }
+
+    @Test
+    @DisplayName("Deve atualizar apenas os campos informados e incrementar a versão")
+    public void atualizarParcialTest(){
+        Jogador jogador = entityManager.persistFlushFind(criarNovoJogador());
+        Long versao = jogador.getVersao();
+
+        int atualizados = repository.atualizarParcial(jogador.getId(), versao, Jogador.builder().nome("Ângelo").build());
+        entityManager.clear();
+
+        Jogador atualizado = entityManager.find(Jogador.class, jogador.getId());
+        assertThat(atualizados).isEqualTo(1);
+        assertThat(atualizado.getNome()).isEqualTo("Ângelo");
+        assertThat(atualizado.getNomeNormalizado()).isEqualTo("angelo");
+        assertThat(atualizado.getEmail()).isEqualTo("felipe@email.com");
+        assertThat(atualizado.getVersao()).isEqualTo(versao + 1);
+    }
+
+    @Test
+    @DisplayName("Deve incrementar a partir de zero a versão nula de um jogador antigo")
+    public void atualizarParcialVersaoNulaTest(){
+        Jogador jogador = entityManager.persistFlushFind(criarNovoJogador());
+        anularVersao(jogador.getId());
+
+        int atualizados = repository.atualizarParcial(jogador.getId(), 0L, Jogador.builder().nome("Ângelo").build());
+        entityManager.clear();
+
+        assertThat(atualizados).isEqualTo(1);
+        assertThat(entityManager.find(Jogador.class, jogador.getId()).getVersao()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Deve preencher com zero as versões nulas")
+    public void preencherVersoesTest(){
+        Jogador jogador = entityManager.persistFlushFind(criarNovoJogador());
+        anularVersao(jogador.getId());
+
+        int preenchidos = repository.preencherVersoes();
+        entityManager.clear();
+
+        assertThat(preenchidos).isEqualTo(1);
+        assertThat(entityManager.find(Jogador.class, jogador.getId()).getVersao()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve atualizar parcialmente quando a versão estiver desatualizada")
+    public void atualizarParcialVersaoDesatualizadaTest(){
+        Jogador jogador = entityManager.persistFlushFind(criarNovoJogador());
+
+        int atualizados = repository.atualizarParcial(jogador.getId(), jogador.getVersao() + 1,
+                Jogador.builder().nome("Ângelo").build());
+
+        assertThat(atualizados).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve apagar um jogador pelo ID sem carregá-lo")
+    public void excluirPorIdTest(){
+        Jogador jogador = entityManager.persistFlushFind(criarNovoJogador());
+        entityManager.clear();
+
+        int excluidos = repository.excluirPorId(jogador.getId());
+
+        assertThat(excluidos).isEqualTo(1);
+        assertThat(entityManager.find(Jogador.class, jogador.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve travar os ids que atendem ao filtro em ordem, a partir do último lido")
+    public void travarIdsAposIdTest(){
+        Jogador primeiro = entityManager.persist(criarNovoJogador());
+        Jogador segundo = criarNovoJogador();
+        segundo.setCodinome("Thor");
+        entityManager.persist(segundo);
+        Jogador outro = criarNovoJogador();
+        outro.setCodinome("Superman");
+        outro.setGrupo("Liga da Justiça");
+        entityManager.persist(outro);
+        entityManager.flush();
+
+        Jogador filtro = Jogador.builder().grupo("vingadores").build();
+
+        assertThat(repository.travarIdsAposId(filtro, TipoBusca.PREFIXO, null, 10))
+                .containsExactly(primeiro.getId(), segundo.getId());
+        assertThat(repository.travarIdsAposId(filtro, TipoBusca.PREFIXO, primeiro.getId(), 10))
+                .containsExactly(segundo.getId());
+    }
+
+    private void anularVersao(Long id) {
+        entityManager.getEntityManager().createNativeQuery("update jogador set versao = null where id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.clear();
+    }
+
     private Jogador criarNovoJogador() {
         return Jogador.builder()
                 .nome("Felipe")
@@ -0,0 +1,151 @@
+package com.jogadores.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jogadores.exceptions.BusinessException;
+import com.jogadores.exceptions.FilaCheiaException;
+import com.jogadores.model.Jogador;
+import com.jogadores.repository.JogadorRepository;
+import com.jogadores.service.impl.CadastroAssincronoServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class CadastroAssincronoServiceTest {
+
+    @TempDir
+    Path pasta;
+
+    JogadorService jogadorService = Mockito.mock(JogadorService.class);
+    JogadorRepository repository = Mockito.mock(JogadorRepository.class);
+    CadastroAssincronoServiceImpl service;
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (service != null) {
+            service.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve regravar na inicialização apenas os cadastros sem conclusão no diário")
+    public void recuperarPendentesDoDiarioTest() throws Exception {
+        Path diario = pasta.resolve("cadastros.ndjson");
+        Files.write(diario, Arrays.asList(
+                "{\"ticket\":\"t1\",\"nome\":\"Felipe\",\"email\":\"felipe@email.com\",\"telefone\":\"(11) 99999-9999\",\"codinome\":\"Hulk\",\"grupo\":\"Vingadores\"}",
+                "{\"ticket\":\"t2\",\"nome\":\"Felipe\",\"email\":\"felipe@email.com\",\"telefone\":\"(11) 99999-9999\",\"codinome\":\"Thor\",\"grupo\":\"Vingadores\"}",
+                "{\"concluidos\":[\"t1\"]}",
+                "{\"ticket\":\"t3\",\"nome\":"), StandardCharsets.UTF_8);
+        when(jogadorService.importar(Mockito.anyList()))
+                .thenReturn(Collections.singletonList(ResultadoImportacao.criado(0, 9L)));
+
+        service = criarService(diario, 10);
+        service.iniciar();
+
+        Mockito.verify(jogadorService, Mockito.timeout(5_000)).importar(Mockito.argThat(
+                (List<Jogador> lote) -> lote.size() == 1 && "Thor".equals(lote.get(0).getCodinome())));
+        assertThat(esperarConclusao("t2").getId()).isEqualTo(9L);
+        assertThat(service.getStatus("t1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve recusar um codinome já cadastrado ou reservado por outro cadastro pendente")
+    public void recusarCodinomeReservadoTest() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(jogadorService.importar(Mockito.anyList())).thenAnswer(invocacao -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return Collections.singletonList(ResultadoImportacao.criado(0, 1L));
+        });
+        when(repository.existsByCodinome("Thor")).thenReturn(true);
+
+        service = criarService(pasta.resolve("cadastros.ndjson"), 10);
+        service.iniciar();
+        service.enfileirar(criarJogador("Hulk"));
+
+        Throwable reservado = Assertions.catchThrowable(() -> service.enfileirar(criarJogador("Hulk")));
+        Throwable existente = Assertions.catchThrowable(() -> service.enfileirar(criarJogador("Thor")));
+        liberar.countDown();
+
+        assertThat(reservado).isInstanceOf(BusinessException.class).hasMessage("Codinome já cadastrado");
+        assertThat(existente).isInstanceOf(BusinessException.class).hasMessage("Codinome já cadastrado");
+    }
+
+    @Test
+    @DisplayName("Deve recusar novos cadastros quando a fila estiver cheia")
+    public void filaCheiaTest() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(jogadorService.importar(Mockito.anyList())).thenAnswer(invocacao -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return Collections.singletonList(ResultadoImportacao.criado(0, 1L));
+        });
+
+        service = criarService(pasta.resolve("cadastros.ndjson"), 1);
+        service.iniciar();
+        service.enfileirar(criarJogador("Hulk"));
+        Mockito.verify(jogadorService, Mockito.timeout(5_000)).importar(Mockito.anyList());
+        service.enfileirar(criarJogador("Thor"));
+
+        Throwable exception = Assertions.catchThrowable(() -> service.enfileirar(criarJogador("Loki")));
+        liberar.countDown();
+
+        assertThat(exception).isInstanceOf(FilaCheiaException.class);
+    }
+
+    @Test
+    @DisplayName("Deve marcar como erro o pedido que falha após esgotar as tentativas do lote")
+    public void limitarTentativasDoLoteTest() throws Exception {
+        when(jogadorService.importar(Mockito.anyList())).thenThrow(new IllegalStateException("falha"));
+        when(jogadorService.save(Mockito.any(Jogador.class))).thenThrow(new IllegalStateException("falha"));
+
+        service = criarService(pasta.resolve("cadastros.ndjson"), 10);
+        service.iniciar();
+        String ticket = service.enfileirar(criarJogador("Thor")).getTicket();
+
+        StatusCadastro status = esperarConclusao(ticket);
+        assertThat(status.getSituacao()).isEqualTo(StatusCadastro.Situacao.ERRO);
+        assertThat(status.getMensagem()).isEqualTo("Falha ao gravar o cadastro");
+        Mockito.verify(jogadorService, Mockito.times(5)).importar(Mockito.anyList());
+        Mockito.verify(jogadorService, Mockito.times(1)).save(Mockito.any(Jogador.class));
+    }
+
+    private CadastroAssincronoServiceImpl criarService(Path diario, int capacidade) {
+        return new CadastroAssincronoServiceImpl(jogadorService, repository, new ObjectMapper(),
+                true, capacidade, 100, diario.toString(), false);
+    }
+
+    private StatusCadastro esperarConclusao(String ticket) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < limite) {
+            StatusCadastro status = service.getStatus(ticket).orElse(null);
+            if (status != null && status.getSituacao() != StatusCadastro.Situacao.PENDENTE) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Cadastro " + ticket + " não foi concluído");
+    }
+
+    private Jogador criarJogador(String codinome) {
+        return Jogador.builder()
+                .nome("Felipe")
+                .email("felipe@email.com")
+                .telefone("(11) 99999-9999")
+                .codinome(codinome)
+                .grupo("Vingadores")
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.jogadores.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jogadores.model.EventoJogador;
+import com.jogadores.model.TipoEvento;
+import com.jogadores.repository.EventoJogadorRepository;
+import com.jogadores.service.impl.EventosServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class EventosServiceTest {
+
+    EventoJogadorRepository repository = Mockito.mock(EventoJogadorRepository.class);
+    EventosServiceImpl service = new EventosServiceImpl(repository, new ObjectMapper(),
+            Mockito.mock(PlatformTransactionManager.class), true, 500, 10, 168, 1);
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        service.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve numerar os eventos pendentes a partir da última sequência e liberar quem aguarda")
+    public void despacharPendentesTest() throws Exception {
+        EventoJogador primeiro = criarEvento(10L);
+        EventoJogador segundo = criarEvento(11L);
+        when(repository.findPendentes(Mockito.any(Pageable.class)))
+                .thenReturn(Arrays.asList(primeiro, segundo))
+                .thenReturn(Collections.emptyList());
+        when(repository.ultimaSequencia()).thenReturn(4L, 6L);
+
+        CompletableFuture<Void> aguardando = service.aguardar(5L);
+        service.iniciar();
+        aguardando.get(5, TimeUnit.SECONDS);
+
+        assertThat(primeiro.getSequencia()).isEqualTo(5L);
+        assertThat(segundo.getSequencia()).isEqualTo(6L);
+        assertThat(service.aguardar(6L)).isNotDone();
+    }
+
+    @Test
+    @DisplayName("Deve descartar a espera cancelada sem depender de um novo evento")
+    public void descartarEsperaCanceladaTest() {
+        CompletableFuture<Void> aguardando = service.aguardar(5L);
+        assertThat(service.getEsperando()).isEqualTo(1);
+
+        aguardando.cancel(false);
+
+        assertThat(service.getEsperando()).isZero();
+    }
+
+    private EventoJogador criarEvento(Long id) {
+        return EventoJogador.builder()
+                .id(id)
+                .tipo(TipoEvento.CRIADO)
+                .jogadorId(id)
+                .criadoEm(Instant.now())
+                .build();
+    }
+}
@@ -1,9 +1,15 @@
 package com.jogadores.service;
 
+import com.jogadores.config.CacheConfig;
 import com.jogadores.exceptions.BusinessException;
 import com.jogadores.model.Jogador;
+import com.jogadores.model.TipoBusca;
 import com.jogadores.repository.JogadorRepository;
+import com.jogadores.service.impl.CodinomeBloomFilter;
+import com.jogadores.service.impl.IndiceGrupos;
 import com.jogadores.service.impl.JogadorServiceImpl;
+import com.jogadores.service.impl.JogadoresEmMemoria;
+import com.jogadores.service.impl.VersoesJogadores;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,14 +17,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Example;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,9 +46,12 @@ public class JogadoServiceTest {
     @MockBean
     JogadorRepository repository;
 
+    EventosService eventos = Mockito.mock(EventosService.class);
+    CacheManager caches = new ConcurrentMapCacheManager(CacheConfig.CONSULTAS);
+
     @BeforeEach
     public void setUp(){
-        this.service = new JogadorServiceImpl(repository);
+        this.service = new JogadorServiceImpl(repository, new CodinomeBloomFilter(false, 0), new VersoesJogadores(1000), new IndiceGrupos(), memoriaDesabilitada(), eventos, caches);
     }
 
     @Test
@@ -54,8 +69,7 @@ public class JogadoServiceTest {
                 .grupo("Vingadores")
                 .build();
 
-        when(repository.existsByCodinome(Mockito.anyString())).thenReturn(false);
-        when(repository.save(jogador)).thenReturn(jogadorSalvoRepository);
+        when(repository.saveAndFlush(jogador)).thenReturn(jogadorSalvoRepository);
 
         //execução
         Jogador jogadorSalvo = service.save(jogador);
@@ -75,7 +89,8 @@ public class JogadoServiceTest {
 
         //cenario
         Jogador jogador = criarJogadorValido();
-        when(repository.existsByCodinome(Mockito.anyString())).thenReturn(true);
+        when(repository.saveAndFlush(jogador)).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement; constraint [" + Jogador.UK_CODINOME.toUpperCase() + "]"));
 
         //execucao
         Throwable exception = Assertions.catchThrowable(() -> service.save(jogador));
@@ -85,8 +100,116 @@ public class JogadoServiceTest {
                 .isInstanceOf(BusinessException.class)
                 .hasMessage("Codinome já cadastrado");
 
-        Mockito.verify(repository, Mockito.never()).save(jogador);
+        Mockito.verify(repository, Mockito.never()).existsByCodinome(Mockito.anyString());
+
+    }
+
+    @Test
+    @DisplayName("Deve repassar violações de integridade que não sejam do codinome")
+    public void repassarOutrasViolacoesDeIntegridadeTest(){
+        Jogador jogador = criarJogadorValido();
+        DataIntegrityViolationException violacao = new DataIntegrityViolationException("NULL not allowed for column NOME");
+        when(repository.saveAndFlush(jogador)).thenThrow(violacao);
+
+        Throwable exception = Assertions.catchThrowable(() -> service.save(jogador));
+
+        assertThat(exception).isSameAs(violacao);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o codinome antes de salvar quando o filtro de bloom indicar que ele pode existir")
+    public void naoDeveSalvarCodinomePresenteNoFiltroDeBloomTest(){
+        CodinomeBloomFilter filtro = new CodinomeBloomFilter(true, 1000);
+        filtro.adicionar("Hulk");
+        filtro.marcarCarregado();
+        service = new JogadorServiceImpl(repository, filtro, new VersoesJogadores(1000), new IndiceGrupos(), memoriaDesabilitada(), eventos, caches);
+        Jogador jogador = criarJogadorValido();
+        when(repository.existsByCodinome("Hulk")).thenReturn(true);
+
+        Throwable exception = Assertions.catchThrowable(() -> service.save(jogador));
+
+        assertThat(exception).isInstanceOf(BusinessException.class).hasMessage("Codinome já cadastrado");
+        Mockito.verify(repository, Mockito.never()).saveAndFlush(jogador);
+    }
+
+    @Test
+    @DisplayName("Deve recusar o cadastro de codinome duplicado como resultado, sem lançar exceção")
+    public void cadastrarCodinomeDuplicadoTest(){
+        CodinomeBloomFilter filtro = new CodinomeBloomFilter(true, 1000);
+        filtro.adicionar("Hulk");
+        filtro.marcarCarregado();
+        service = new JogadorServiceImpl(repository, filtro, new VersoesJogadores(1000), new IndiceGrupos(), memoriaDesabilitada(), eventos, caches);
+        when(repository.existsByCodinome("Hulk")).thenReturn(true);
+
+        Resultado<Jogador> resultado = service.cadastrar(criarJogadorValido());
+
+        assertThat(resultado.isSucesso()).isFalse();
+        assertThat(resultado.getErro()).isEqualTo("Codinome já cadastrado");
+        Mockito.verify(repository, Mockito.never()).saveAndFlush(Mockito.any(Jogador.class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar como resultado o codinome barrado pelo índice único quando o filtro de bloom estiver desabilitado")
+    public void cadastrarCodinomeDuplicadoSemFiltroDeBloomTest(){
+        when(repository.saveAndFlush(Mockito.any(Jogador.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement; constraint [" + Jogador.UK_CODINOME.toUpperCase() + "]"));
+
+        Resultado<Jogador> resultado = service.cadastrar(criarJogadorValido());
+
+        assertThat(resultado.isSucesso()).isFalse();
+        assertThat(resultado.getErro()).isEqualTo("Codinome já cadastrado");
+        Mockito.verify(repository, Mockito.never()).existsByCodinome(Mockito.anyString());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a atualização para um codinome de outro jogador como resultado")
+    public void atualizarCodinomeDeOutroJogadorTest(){
+        CodinomeBloomFilter filtro = new CodinomeBloomFilter(true, 1000);
+        filtro.adicionar("Hulk");
+        filtro.marcarCarregado();
+        service = new JogadorServiceImpl(repository, filtro, new VersoesJogadores(1000), new IndiceGrupos(), memoriaDesabilitada(), eventos, caches);
+        Jogador jogador = criarJogadorValido();
+        jogador.setId(2L);
+        when(repository.existsByCodinomeAndIdNot("Hulk", 2L)).thenReturn(true);
+
+        Resultado<Jogador> resultado = service.atualizar(jogador);
+
+        assertThat(resultado.isSucesso()).isFalse();
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any(Jogador.class));
+    }
+
+    @Test
+    @DisplayName("Deve buscar pelo codinome normalizado em cache, entregando cópias, e recusar codinome vazio")
+    public void findPorCodinomeTest(){
+        Jogador jogador = criarJogadorValido();
+        jogador.setId(1L);
+        when(repository.findByCodinomeNormalizadoOrderById("hulk")).thenReturn(Arrays.asList(jogador));
+
+        List<Jogador> encontrados = service.findPorCodinome("  HÚLK ");
+        encontrados.get(0).setCodinome("Thor");
+        List<Jogador> emCache = service.findPorCodinome("hulk");
+        Throwable exception = Assertions.catchThrowable(() -> service.findPorCodinome(" "));
 
+        assertThat(emCache).extracting(Jogador::getCodinome).containsExactly("Hulk");
+        Mockito.verify(repository, Mockito.times(1)).findByCodinomeNormalizadoOrderById("hulk");
+        assertThat(exception).isInstanceOf(BusinessException.class).hasMessage("Informe o codinome");
+    }
+
+    @Test
+    @DisplayName("Deve salvar direto quando o filtro de bloom garantir que o codinome está livre")
+    public void salvarSemConsultaQuandoCodinomeLivreNoFiltroDeBloomTest(){
+        CodinomeBloomFilter filtro = new CodinomeBloomFilter(true, 1000);
+        filtro.marcarCarregado();
+        service = new JogadorServiceImpl(repository, filtro, new VersoesJogadores(1000), new IndiceGrupos(), memoriaDesabilitada(), eventos, caches);
+        Jogador jogador = criarJogadorValido();
+        Jogador salvo = criarJogadorValido();
+        salvo.setId(1L);
+        when(repository.saveAndFlush(jogador)).thenReturn(salvo);
+
+        service.save(jogador);
+
+        Mockito.verify(repository, Mockito.never()).existsByCodinome(Mockito.anyString());
+        assertThat(filtro.podeConter("Hulk")).isTrue();
     }
 
     @Test
@@ -111,6 +234,25 @@ public class JogadoServiceTest {
         assertThat(encontrarJogador.get().getGrupo()).isEqualTo(jogador.getGrupo());
     }
 
+    @Test
+    @DisplayName("Deve registrar a versão lida e esquecê-la quando o jogador for alterado")
+    public void versaoConhecidaTest() {
+        Jogador jogador = criarJogadorValido();
+        jogador.setId(1L);
+        jogador.setVersao(2L);
+        when(repository.findById(1L)).thenReturn(Optional.of(jogador));
+        when(repository.save(jogador)).thenReturn(jogador);
+        long colecao = service.versaoColecao();
+
+        service.getById(1L);
+        Long lida = service.versaoConhecida(1L);
+        service.updateJogador(jogador);
+
+        assertThat(lida).isEqualTo(2L);
+        assertThat(service.versaoConhecida(1L)).isNull();
+        assertThat(service.versaoColecao()).isNotEqualTo(colecao);
+    }
+
     @Test
     @DisplayName("Deve retornar vazio quando um jogador por ID não existir")
     public void obterJogadorPorIdNaoEncontradoTest() {
@@ -149,6 +291,65 @@ public class JogadoServiceTest {
         Mockito.verify(repository, Mockito.never()).delete(jogador);
     }
 
+    @Test
+    @DisplayName("Deve apagar um jogador pelo ID com um único comando")
+    public void deleteJogadorPorIdTest(){
+        when(repository.excluirPorId(1L)).thenReturn(1);
+
+        boolean excluido = service.deleteById(1L);
+
+        assertThat(excluido).isTrue();
+        Mockito.verify(repository, Mockito.never()).findById(Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve indicar quando não houver jogador para apagar pelo ID")
+    public void deleteJogadorPorIdInexistenteTest(){
+        when(repository.excluirPorId(1L)).thenReturn(0);
+
+        assertThat(service.deleteById(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve exigir ao menos um filtro para apagar jogadores em massa")
+    public void deleteJogadoresSemFiltroTest(){
+        Throwable exception = Assertions.catchThrowable(() -> service.deleteJogadores(new Jogador(), TipoBusca.CONTEM));
+
+        assertThat(exception).isInstanceOf(BusinessException.class);
+        Mockito.verify(repository, Mockito.never()).excluirPorIds(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Deve apagar em massa apenas os ids lidos com trava, retirando-os do índice de grupos")
+    public void deleteJogadoresPorIdsTravadosTest(){
+        IndiceGrupos grupos = new IndiceGrupos();
+        grupos.mover(1L, "Vingadores");
+        grupos.mover(2L, "Vingadores");
+        service = new JogadorServiceImpl(repository, new CodinomeBloomFilter(false, 0), new VersoesJogadores(1000), grupos, memoriaDesabilitada(), eventos, caches);
+        Jogador filtro = Jogador.builder().grupo("Vingadores").build();
+        when(repository.travarIdsAposId(filtro, TipoBusca.CONTEM, null, 1000)).thenReturn(Arrays.asList(1L, 2L));
+        when(repository.excluirPorIds(Arrays.asList(1L, 2L))).thenReturn(2);
+
+        int excluidos = service.deleteJogadores(filtro, TipoBusca.CONTEM);
+
+        assertThat(excluidos).isEqualTo(2);
+        assertThat(grupos.total("Vingadores")).isZero();
+        Mockito.verify(eventos).registrarExclusoes(Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar na carga do índice de grupos os jogadores excluídos durante ela")
+    public void indiceGruposExclusaoDuranteCargaTest(){
+        IndiceGrupos grupos = new IndiceGrupos();
+
+        grupos.remover(Collections.singletonList(1L));
+        grupos.carregar(1L, "Vingadores");
+        grupos.carregar(2L, "Vingadores");
+        grupos.marcarCarregado();
+
+        assertThat(grupos.ids("Vingadores", 0, 10)).containsExactly(2L);
+    }
+
     @Test
     @DisplayName("Deve atualizar um livro.")
     public void atualizarJogadorTest(){
@@ -186,6 +387,87 @@ public class JogadoServiceTest {
         Mockito.verify( repository, Mockito.never() ).save(jogador);
     }
 
+    @Test
+    @DisplayName("Deve atualizar parcialmente um jogador com um único comando")
+    public void atualizarParcialmenteJogadorTest(){
+        Jogador alteracoes = Jogador.builder().email("lipe@email.com").build();
+        when(repository.atualizarParcial(1L, 2L, alteracoes)).thenReturn(1);
+
+        boolean atualizado = service.atualizarParcial(1L, 2L, alteracoes);
+
+        assertThat(atualizado).isTrue();
+        Mockito.verify(repository, Mockito.never()).findById(Mockito.anyLong());
+        Mockito.verify(repository, Mockito.never()).existsById(Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve incluir no filtro de bloom o codinome gravado pelo PUT")
+    public void atualizarCodinomeNoFiltroDeBloomTest(){
+        CodinomeBloomFilter filtro = new CodinomeBloomFilter(true, 1000);
+        filtro.marcarCarregado();
+        service = new JogadorServiceImpl(repository, filtro, new VersoesJogadores(1000), new IndiceGrupos(), memoriaDesabilitada(), eventos, caches);
+        Jogador jogador = criarJogadorValido().toBuilder().id(1L).codinome("Thor").build();
+        when(repository.save(jogador)).thenReturn(jogador);
+        when(repository.existsByCodinome("Thor")).thenReturn(true);
+
+        service.atualizar(jogador);
+        Resultado<Jogador> resultado = service.cadastrar(criarJogadorValido().toBuilder().codinome("Thor").build());
+
+        assertThat(filtro.podeConter("Thor")).isTrue();
+        assertThat(resultado.isSucesso()).isFalse();
+        Mockito.verify(repository, Mockito.never()).saveAndFlush(Mockito.any(Jogador.class));
+    }
+
+    @Test
+    @DisplayName("Deve incluir no filtro de bloom o codinome alterado parcialmente")
+    public void atualizarParcialmenteCodinomeNoFiltroDeBloomTest(){
+        CodinomeBloomFilter filtro = new CodinomeBloomFilter(true, 1000);
+        filtro.marcarCarregado();
+        service = new JogadorServiceImpl(repository, filtro, new VersoesJogadores(1000), new IndiceGrupos(), memoriaDesabilitada(), eventos, caches);
+        Jogador alteracoes = Jogador.builder().codinome("Thor").build();
+        when(repository.atualizarParcial(1L, null, alteracoes)).thenReturn(1);
+        when(repository.existsByCodinome("Thor")).thenReturn(true);
+
+        service.atualizarParcial(1L, null, alteracoes);
+        Resultado<Jogador> resultado = service.cadastrar(criarJogadorValido().toBuilder().codinome("Thor").build());
+
+        assertThat(filtro.podeConter("Thor")).isTrue();
+        assertThat(resultado.isSucesso()).isFalse();
+        Mockito.verify(repository, Mockito.never()).saveAndFlush(Mockito.any(Jogador.class));
+    }
+
+    @Test
+    @DisplayName("Deve indicar que o jogador não existe quando nenhuma linha for atualizada")
+    public void atualizarParcialmenteJogadorInexistenteTest(){
+        Jogador alteracoes = Jogador.builder().nome("Felipe").build();
+        when(repository.atualizarParcial(1L, null, alteracoes)).thenReturn(0);
+
+        boolean atualizado = service.atualizarParcial(1L, null, alteracoes);
+
+        assertThat(atualizado).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve lançar conflito quando a versão informada estiver desatualizada")
+    public void atualizarParcialmenteJogadorVersaoDesatualizadaTest(){
+        Jogador alteracoes = Jogador.builder().nome("Felipe").build();
+        when(repository.atualizarParcial(1L, 1L, alteracoes)).thenReturn(0);
+        when(repository.existsById(1L)).thenReturn(true);
+
+        Throwable exception = Assertions.catchThrowable(() -> service.atualizarParcial(1L, 1L, alteracoes));
+
+        assertThat(exception).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("Deve lançar erro ao atualizar parcialmente sem nenhum campo")
+    public void atualizarParcialmenteSemCamposTest(){
+        Throwable exception = Assertions.catchThrowable(() -> service.atualizarParcial(1L, null, new Jogador()));
+
+        assertThat(exception).isInstanceOf(BusinessException.class);
+        Mockito.verify(repository, Mockito.never()).atualizarParcial(Mockito.anyLong(), Mockito.any(), Mockito.any());
+    }
+
     @Test
     @DisplayName("Deve filtrar jogadores pelas propriedades")
     public void findJogadorTest(){
@@ -196,7 +478,7 @@ public class JogadoServiceTest {
 
         List<Jogador> lista = Arrays.asList(jogador);
         Page<Jogador> page = new PageImpl<Jogador>(lista, pageRequest, 1);
-        when( repository.findAll(Mockito.any(Example.class), Mockito.any(PageRequest.class)))
+        when( repository.findAll(Mockito.any(Specification.class), Mockito.any(PageRequest.class)))
                 .thenReturn(page);
 
         //execucao
@@ -211,6 +493,180 @@ public class JogadoServiceTest {
     }
 
 
+    @Test
+    @DisplayName("Deve obter vários jogadores pelos IDs na ordem pedida informando os inexistentes")
+    public void getByIdsTest(){
+        Jogador primeiro = criarJogadorValido();
+        primeiro.setId(1L);
+        Jogador terceiro = criarJogadorValido();
+        terceiro.setId(3L);
+        when(repository.findAllById(Arrays.asList(3L, 2L, 1L))).thenReturn(Arrays.asList(primeiro, terceiro));
+
+        ResultadoPorIds<Jogador> result = service.getByIds(Arrays.asList(3L, 2L, 3L, 1L));
+
+        assertThat(result.getContent()).containsExactly(terceiro, primeiro);
+        assertThat(result.getNaoEncontrados()).containsExactly(2L);
+        Mockito.verify(repository, Mockito.times(1)).findAllById(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Deve exigir ao menos um ID ao obter vários jogadores")
+    public void getByIdsVazioTest(){
+        Throwable exception = Assertions.catchThrowable(() -> service.getByIds(Collections.emptyList()));
+
+        assertThat(exception).isInstanceOf(BusinessException.class).hasMessage("Informe ao menos um ID");
+        Mockito.verify(repository, Mockito.never()).findAllById(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar campos inexistentes na projeção")
+    public void findCamposInvalidoTest(){
+        Throwable exception = Assertions.catchThrowable(() -> service.findCampos(new Jogador(), TipoBusca.CONTEM,
+                Arrays.asList("id", "senha"), PageRequest.of(0, 10)));
+
+        assertThat(exception).isInstanceOf(BusinessException.class).hasMessage("Campo inválido: senha");
+        Mockito.verify(repository, Mockito.never()).findCampos(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Deve manter a contagem por grupo ao cadastrar, mover e apagar jogadores sem consultar o banco")
+    public void indiceGruposTest(){
+        IndiceGrupos grupos = new IndiceGrupos();
+        grupos.carregar(1L, "Vingadores");
+        grupos.marcarCarregado();
+        service = new JogadorServiceImpl(repository, new CodinomeBloomFilter(false, 0), new VersoesJogadores(1000), grupos, memoriaDesabilitada(), eventos, caches);
+        Jogador novo = criarJogadorValido();
+        novo.setId(2L);
+        novo.setGrupo("vingadores");
+        Jogador movido = criarJogadorValido();
+        movido.setId(1L);
+        movido.setGrupo("Liga da Justiça");
+        when(repository.saveAndFlush(Mockito.any(Jogador.class))).thenReturn(novo);
+        when(repository.save(movido)).thenReturn(movido);
+        when(repository.excluirPorId(2L)).thenReturn(1);
+
+        service.save(criarJogadorValido());
+        List<ResumoGrupo> aposCadastro = service.getGrupos();
+        service.updateJogador(movido);
+        service.deleteById(2L);
+        List<ResumoGrupo> aposRemocao = service.getGrupos();
+
+        assertThat(aposCadastro).extracting(ResumoGrupo::getGrupo, ResumoGrupo::getTotal)
+                .containsExactly(Assertions.tuple("Vingadores", 2));
+        assertThat(aposRemocao).extracting(ResumoGrupo::getGrupo, ResumoGrupo::getTotal)
+                .containsExactly(Assertions.tuple("Liga da Justiça", 1));
+        Mockito.verify(repository, Mockito.never()).contarPorGrupo();
+    }
+
+    @Test
+    @DisplayName("Deve registrar o evento de exclusão apenas quando o jogador existir")
+    public void deleteByIdRegistraEventoTest(){
+        when(repository.excluirPorId(1L)).thenReturn(1);
+        when(repository.excluirPorId(2L)).thenReturn(0);
+
+        service.deleteById(1L);
+        service.deleteById(2L);
+
+        Mockito.verify(eventos).registrarExclusoes(Collections.singletonList(1L));
+        Mockito.verify(eventos, Mockito.never()).registrarExclusoes(Collections.singletonList(2L));
+    }
+
+    @Test
+    @DisplayName("Deve listar os jogadores de um grupo pelos IDs do índice")
+    public void findJogadoresDoGrupoTest(){
+        IndiceGrupos grupos = new IndiceGrupos();
+        grupos.carregar(3L, "Vingadores");
+        grupos.carregar(1L, "Vingadores");
+        grupos.carregar(2L, "Liga da Justiça");
+        grupos.marcarCarregado();
+        service = new JogadorServiceImpl(repository, new CodinomeBloomFilter(false, 0), new VersoesJogadores(1000), grupos, memoriaDesabilitada(), eventos, caches);
+        Jogador primeiro = criarJogadorValido();
+        primeiro.setId(1L);
+        when(repository.findAllById(Arrays.asList(1L))).thenReturn(Arrays.asList(primeiro));
+
+        Page<Jogador> result = service.findJogadoresDoGrupo("VINGADORES", PageRequest.of(0, 1));
+
+        assertThat(result.getContent()).containsExactly(primeiro);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        Mockito.verify(repository, Mockito.never()).findAll(Mockito.any(Specification.class), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve paginar por cursor sem executar a contagem")
+    public void findJogadorPorCursorTest(){
+        Jogador primeiro = criarJogadorValido();
+        primeiro.setId(10L);
+        Jogador segundo = criarJogadorValido();
+        segundo.setId(11L);
+        Jogador terceiro = criarJogadorValido();
+        terceiro.setId(12L);
+        when(repository.findAposId(Mockito.any(), Mockito.eq(TipoBusca.CONTEM), Mockito.eq(9L), Mockito.eq(3)))
+                .thenReturn(Arrays.asList(primeiro, segundo, terceiro));
+
+        CursorPage<Jogador> result = service.findJogador(new Jogador(), TipoBusca.CONTEM, Cursor.encode(9L), 2, false);
+
+        assertThat(result.getContent()).containsExactly(primeiro, segundo);
+        assertThat(Cursor.decode(result.getNextCursor())).isEqualTo(11L);
+        assertThat(result.getTotalElements()).isNull();
+        Mockito.verify(repository, Mockito.never()).count(Mockito.any(Specification.class));
+    }
+
+    @Test
+    @DisplayName("Deve indicar a última página do cursor")
+    public void findJogadorPorCursorUltimaPaginaTest(){
+        Jogador jogador = criarJogadorValido();
+        jogador.setId(1L);
+        when(repository.findAposId(Mockito.any(), Mockito.any(), Mockito.isNull(), Mockito.eq(21)))
+                .thenReturn(Arrays.asList(jogador));
+        when(repository.count(Mockito.any(Specification.class))).thenReturn(1L);
+
+        CursorPage<Jogador> result = service.findJogador(new Jogador(), TipoBusca.CONTEM, null, 20, true);
+
+        assertThat(result.isLast()).isTrue();
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(result.getTotalElements()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Deve lançar erro quando o cursor for inválido")
+    public void findJogadorCursorInvalidoTest(){
+        Throwable exception = Assertions.catchThrowable(
+                () -> service.findJogador(new Jogador(), TipoBusca.CONTEM, "invalido", 20, false));
+
+        assertThat(exception).isInstanceOf(BusinessException.class).hasMessage("Cursor inválido");
+    }
+
+    @Test
+    @DisplayName("Deve importar jogadores ignorando codinomes já cadastrados ou repetidos no lote")
+    public void importarJogadoresTest(){
+        Jogador hulk = criarJogadorValido();
+        Jogador thor = criarJogadorValido();
+        thor.setCodinome("Thor");
+        Jogador outroThor = criarJogadorValido();
+        outroThor.setCodinome("Thor");
+
+        when(repository.findCodinomesExistentes(Mockito.anyCollection())).thenReturn(Arrays.asList("Hulk"));
+        when(repository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            List<Jogador> novos = invocation.getArgument(0);
+            novos.forEach(novo -> novo.setId(7L));
+            return novos;
+        });
+
+        List<ResultadoImportacao> resultados = service.importar(Arrays.asList(hulk, thor, outroThor));
+
+        assertThat(resultados).extracting(ResultadoImportacao::getStatus).containsExactly(
+                ResultadoImportacao.Status.DUPLICADO,
+                ResultadoImportacao.Status.CRIADO,
+                ResultadoImportacao.Status.DUPLICADO);
+        assertThat(resultados.get(1).getId()).isEqualTo(7L);
+        Mockito.verify(repository, Mockito.times(1)).findCodinomesExistentes(Mockito.anyCollection());
+        Mockito.verify(repository).saveAll(Arrays.asList(thor));
+    }
+
+    private static JogadoresEmMemoria memoriaDesabilitada() {
+        return new JogadoresEmMemoria(false, "data/memoria", 0, 0, false);
+    }
+
     private Jogador criarJogadorValido() {
         return Jogador.builder()
                 .nome("Felipe")
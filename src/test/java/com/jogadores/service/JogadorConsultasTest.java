@@ -0,0 +1,117 @@
+package com.jogadores.service;
+
+import com.jogadores.config.CacheConfig;
+import com.jogadores.config.ContadorConsultas;
+import com.jogadores.model.Jogador;
+import com.jogadores.model.TipoBusca;
+import com.jogadores.repository.JogadorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class JogadorConsultasTest {
+
+    @Autowired
+    JogadorService service;
+
+    @Autowired
+    JogadorRepository repository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    List<Jogador> jogadores;
+
+    @BeforeEach
+    public void setUp(){
+        List<Jogador> novos = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            novos.add(Jogador.builder()
+                    .nome("Jogador " + i)
+                    .email("jogador" + i + "@email.com")
+                    .telefone("(11) 99999-9999")
+                    .codinome("Codinome " + i)
+                    .grupo("Vingadores")
+                    .build());
+        }
+        jogadores = repository.saveAll(novos);
+        cacheManager.getCache(CacheConfig.JOGADORES).clear();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    public void tearDown(){
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única consulta ao obter um jogador por ID e nenhuma quando estiver em cache")
+    public void consultasObterPorIdTest(){
+        Long id = jogadores.get(0).getId();
+
+        ContadorConsultas.zerar();
+        service.getById(id);
+        long primeiraLeitura = ContadorConsultas.total();
+
+        ContadorConsultas.zerar();
+        service.getById(id);
+        long segundaLeitura = ContadorConsultas.total();
+
+        assertThat(primeiraLeitura).isEqualTo(1);
+        assertThat(segundaLeitura).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve executar apenas a consulta da página e a contagem ao filtrar jogadores")
+    public void consultasFiltrarJogadoresTest(){
+        ContadorConsultas.zerar();
+
+        service.findJogador(Jogador.builder().grupo("vingadores").build(), TipoBusca.PREFIXO, PageRequest.of(0, 10));
+
+        assertThat(ContadorConsultas.total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única consulta na paginação por cursor sem total")
+    public void consultasPaginacaoPorCursorTest(){
+        ContadorConsultas.zerar();
+
+        service.findJogador(new Jogador(), TipoBusca.CONTEM, null, 10, false);
+
+        assertThat(ContadorConsultas.total()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única consulta ao obter vários jogadores pelos IDs")
+    public void consultasObterPorIdsTest(){
+        List<Long> ids = new ArrayList<>();
+        for (int i = jogadores.size() - 1; i >= 0; i--) {
+            ids.add(jogadores.get(i).getId());
+        }
+        ids.add(-1L);
+
+        ContadorConsultas.zerar();
+        ResultadoPorIds<Jogador> resultado = service.getByIds(ids);
+
+        assertThat(ContadorConsultas.total()).isEqualTo(1);
+        assertThat(resultado.getContent()).extracting(Jogador::getId).containsExactlyElementsOf(ids.subList(0, jogadores.size()));
+        assertThat(resultado.getNaoEncontrados()).containsExactly(-1L);
+    }
+}
@@ -0,0 +1,99 @@
+package com.jogadores.service;
+
+import com.jogadores.config.CacheConfig;
+import com.jogadores.model.Jogador;
+import com.jogadores.repository.JogadorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class JogadorServiceCacheTest {
+
+    @Autowired
+    JogadorService service;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @MockBean
+    JogadorRepository repository;
+
+    @BeforeEach
+    public void setUp(){
+        cacheManager.getCache(CacheConfig.JOGADORES).clear();
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco apenas uma vez para o mesmo ID")
+    public void obterJogadorPorIdEmCacheTest(){
+        when(repository.findById(1L)).thenReturn(Optional.of(criarJogador(1L, "Felipe")));
+
+        service.getById(1L);
+        Optional<Jogador> jogador = service.getById(1L);
+
+        assertThat(jogador).isPresent();
+        Mockito.verify(repository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar em cache um jogador inexistente")
+    public void naoGuardarJogadorInexistenteTest(){
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+
+        service.getById(1L);
+        service.getById(1L);
+
+        Mockito.verify(repository, Mockito.times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o cache ao atualizar um jogador")
+    public void atualizarCacheAoAtualizarJogadorTest(){
+        when(repository.findById(1L)).thenReturn(Optional.of(criarJogador(1L, "Felipe")));
+        when(repository.save(Mockito.any(Jogador.class))).thenReturn(criarJogador(1L, "Lipe"));
+
+        service.getById(1L);
+        service.updateJogador(criarJogador(1L, "Lipe"));
+        Optional<Jogador> jogador = service.getById(1L);
+
+        assertThat(jogador.get().getNome()).isEqualTo("Lipe");
+        Mockito.verify(repository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve remover do cache o jogador apagado")
+    public void removerDoCacheAoApagarJogadorTest(){
+        Jogador jogador = criarJogador(1L, "Felipe");
+        when(repository.findById(1L)).thenReturn(Optional.of(jogador));
+
+        service.getById(1L);
+        service.deleteJogador(jogador);
+        service.getById(1L);
+
+        Mockito.verify(repository, Mockito.times(2)).findById(1L);
+    }
+
+    private Jogador criarJogador(Long id, String nome) {
+        return Jogador.builder()
+                .id(id)
+                .nome(nome)
+                .email("felipe@email.com")
+                .telefone("(11) 99999-9999")
+                .codinome("Hulk")
+                .grupo("Vingadores")
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.jogadores.service;
+
+import com.jogadores.exceptions.BusinessException;
+import com.jogadores.model.Jogador;
+import com.jogadores.repository.JogadorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class JogadorServiceConcorrenciaTest {
+
+    static final int CADASTROS_SIMULTANEOS = 16;
+
+    @Autowired
+    JogadorService service;
+
+    @Autowired
+    JogadorRepository repository;
+
+    @AfterEach
+    public void tearDown(){
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar apenas um cadastro quando vários jogadores disputam o mesmo codinome")
+    public void cadastrarCodinomeDisputadoTest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CADASTROS_SIMULTANEOS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> cadastros = new ArrayList<>();
+        try {
+            for (int i = 0; i < CADASTROS_SIMULTANEOS; i++) {
+                String nome = "Jogador " + i;
+                Callable<Boolean> cadastro = () -> {
+                    largada.await();
+                    try {
+                        service.save(Jogador.builder()
+                                .nome(nome)
+                                .email("jogador@email.com")
+                                .telefone("(11) 99999-9999")
+                                .codinome("Hulk")
+                                .grupo("Vingadores")
+                                .build());
+                        return true;
+                    } catch (BusinessException e) {
+                        return false;
+                    }
+                };
+                cadastros.add(executor.submit(cadastro));
+            }
+            largada.countDown();
+
+            int aceitos = 0;
+            for (Future<Boolean> cadastro : cadastros) {
+                if (cadastro.get()) {
+                    aceitos++;
+                }
+            }
+
+            assertThat(aceitos).isEqualTo(1);
+            assertThat(repository.count()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve devolver o codinome recusado pelo índice único como resultado e desfazer a transação")
+    public void cadastrarCodinomeRecusadoPeloIndiceTest() {
+        Resultado<Jogador> primeiro = service.cadastrar(criarJogador("Jogador 1"));
+        Resultado<Jogador> repetido = service.cadastrar(criarJogador("Jogador 2"));
+
+        assertThat(primeiro.isSucesso()).isTrue();
+        assertThat(repetido.isSucesso()).isFalse();
+        assertThat(repetido.getErro()).isEqualTo("Codinome já cadastrado");
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    private Jogador criarJogador(String nome) {
+        return Jogador.builder()
+                .nome(nome)
+                .email("jogador@email.com")
+                .telefone("(11) 99999-9999")
+                .codinome("Hulk")
+                .grupo("Vingadores")
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.jogadores.service;
+
+import com.jogadores.model.Jogador;
+import com.jogadores.service.impl.JogadoresEmMemoria;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JogadoresEmMemoriaTest {
+
+    @TempDir
+    Path pasta;
+
+    List<JogadoresEmMemoria> abertos = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        for (JogadoresEmMemoria memoria : abertos) {
+            memoria.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve restaurar a fotografia e refazer o diário sem consultar o banco")
+    public void restaurarFotografiaEDiarioTest() throws Exception {
+        JogadoresEmMemoria anterior = criarMemoria();
+        assertThat(anterior.restaurar(0, 0)).isFalse();
+        anterior.concluirCarga();
+        anterior.gravar(criarJogador(1L, "Hulk"));
+        anterior.gravar(criarJogador(2L, "Thor"));
+        anterior.gravar(criarJogador(3L, "Loki"));
+        anterior.remover(Collections.singletonList(3L));
+        anterior.alterar(2L, Jogador.builder().grupo("Asgard").build());
+
+        JogadoresEmMemoria memoria = criarMemoria();
+        boolean restaurada = memoria.restaurar(2, 1);
+        memoria.concluirCarga();
+
+        assertThat(restaurada).isTrue();
+        assertThat(memoria.obter(1L)).hasValueSatisfying(jogador -> assertThat(jogador.getCodinome()).isEqualTo("Hulk"));
+        assertThat(memoria.obter(2L)).hasValueSatisfying(jogador -> {
+            assertThat(jogador.getGrupo()).isEqualTo("Asgard");
+            assertThat(jogador.getNome()).isEqualTo("Felipe");
+            assertThat(jogador.getVersao()).isEqualTo(1L);
+        });
+        assertThat(memoria.obter(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve recusar a fotografia quando ela divergir do banco")
+    public void fotografiaDivergenteTest() throws Exception {
+        JogadoresEmMemoria anterior = criarMemoria();
+        anterior.restaurar(0, 0);
+        anterior.concluirCarga();
+        anterior.gravar(criarJogador(1L, "Hulk"));
+
+        JogadoresEmMemoria memoria = criarMemoria();
+
+        assertThat(memoria.restaurar(2, 0)).isFalse();
+        assertThat(memoria.obter(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve manter todos os jogadores acessíveis após remoções e redimensionamentos")
+    public void gravarERemoverEmMassaTest() throws Exception {
+        JogadoresEmMemoria memoria = criarMemoria();
+        memoria.restaurar(0, 0);
+        memoria.concluirCarga();
+        List<Long> impares = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            memoria.gravar(criarJogador(id, "Jogador " + id));
+            if (id % 2 == 1) {
+                impares.add(id);
+            }
+        }
+
+        memoria.remover(impares);
+
+        for (long id = 1; id <= 5_000; id++) {
+            assertThat(memoria.obter(id).isPresent()).isEqualTo(id % 2 == 0);
+        }
+        assertThat(memoria.obter(4_000L)).hasValueSatisfying(jogador ->
+                assertThat(jogador.getCodinome()).isEqualTo("Jogador 4000"));
+        assertThat(Arrays.asList(memoria.obter(0L), memoria.obter(null))).allMatch(jogador -> !jogador.isPresent());
+    }
+
+    private JogadoresEmMemoria criarMemoria() {
+        JogadoresEmMemoria memoria = new JogadoresEmMemoria(true, pasta.toString(), 16, 100_000, false);
+        abertos.add(memoria);
+        return memoria;
+    }
+
+    private Jogador criarJogador(Long id, String codinome) {
+        return Jogador.builder()
+                .id(id)
+                .nome("Felipe")
+                .email("felipe@email.com")
+                .telefone("(11) 99999-9999")
+                .codinome(codinome)
+                .grupo("Vingadores")
+                .versao(0L)
+                .build();
+    }
+}